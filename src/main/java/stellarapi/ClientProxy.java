@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.block.model.ModelResourceLocation;
+import net.minecraft.client.resources.IReloadableResourceManager;
 import net.minecraft.world.World;
 import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
@@ -57,6 +58,8 @@ public class ClientProxy extends CommonProxy implements IProxy {
 	public void postInit(FMLPostInitializationEvent event) {
 		super.postInit(event);
 		SAPIClientEventHook.OVERLAY.initialize(Minecraft.getMinecraft());
+		((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager())
+				.registerReloadListener(manager -> SAPIRendererCommon.deleteSharedMeshes());
 	}
 
 	@Override
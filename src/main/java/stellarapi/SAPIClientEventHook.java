@@ -5,18 +5,18 @@ import java.lang.reflect.Modifier;
 
 import org.lwjgl.input.Keyboard;
 
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.EntityRenderer;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.client.settings.KeyBinding;
-import net.minecraft.entity.Entity;
 import net.minecraft.world.World;
 import net.minecraftforge.client.IRenderHandler;
 import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
@@ -30,11 +30,12 @@ import stellarapi.api.SAPIReferences;
 import stellarapi.api.event.FOVEvent;
 import stellarapi.api.event.QEEvent;
 import stellarapi.api.event.RenderQEEvent;
-import stellarapi.api.optics.EnumRGBA;
-import stellarapi.api.optics.Wavelength;
+import stellarapi.api.optics.Photometry;
 import stellarapi.api.render.IAdaptiveRenderer;
 import stellarapi.api.world.ICelestialWorld;
+import stellarapi.example.world.LightPollutionMap;
 import stellarapi.feature.gui.overlay.OverlayHandler;
+import stellarapi.lib.render.LightmapTint;
 import stellarapi.reference.CelestialPackManager;
 
 @Mod.EventBusSubscriber(modid = SAPIReferences.MODID, value = Side.CLIENT)
@@ -44,10 +45,6 @@ public class SAPIClientEventHook {
 			ObfuscationReflectionHelper.remapFieldNames(
 					EntityRenderer.class.getName(), "field_78513_d"));
 
-	private static final Field lightMapUpdatedField = ReflectionHelper.findField(EntityRenderer.class,
-			ObfuscationReflectionHelper.remapFieldNames(
-					EntityRenderer.class.getName(), "field_78536_aa"));
-
 	static {
 		try {
 			Field modifiersField = Field.class.getDeclaredField("modifiers");
@@ -76,6 +73,35 @@ public class SAPIClientEventHook {
 		}
 	}
 
+	@SubscribeEvent
+	public static void onWorldLoad(WorldEvent.Load event) {
+		// Per-dimension resources depend on the client world
+		if (event.getWorld().isRemote) {
+			SAPIReferences.invalidatePerDimResources();
+			LIGHTMAP_TINT.reset();
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			SAPIReferences.invalidatePerDimResources();
+
+			ICelestialWorld cWorld = event.getWorld().getCapability(SAPICapabilities.CELESTIAL_CAPABILITY, null);
+			if (cWorld instanceof CelestialPackManager) {
+				IAdaptiveRenderer renderer = ((CelestialPackManager) cWorld).getRenderer();
+				if (renderer != null)
+					renderer.onRemoved(event.getWorld());
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void onChunkUnload(ChunkEvent.Unload event) {
+		if (event.getWorld().isRemote)
+			LightPollutionMap.onChunkUnload(event.getChunk());
+	}
+
 	@SubscribeEvent(priority = EventPriority.LOWEST)
 	public static void onDecideFOV(EntityViewRenderEvent.FOVModifier e) {
 		FOVEvent event = new FOVEvent(e.getEntity(), e.getFOV());
@@ -91,51 +117,27 @@ public class SAPIClientEventHook {
 	}
 
 
-	private static float getFilterQE(EntityViewRenderEvent event, Wavelength wavelengthIn, float initialQE) {
-		return getFilterQE(event.getRenderer(), event.getEntity(), event.getState(), event.getRenderPartialTicks(), wavelengthIn, initialQE);
-	}
+	// Buffer for the filter efficiencies, only used on the render thread
+	private static final float[] efficiencies = new float[3];
 
-	private static float getFilterQE(EntityRenderer renderer, Entity entity, IBlockState state, double renderPartialTicks, Wavelength wavelengthIn, float initialQE) {
-		RenderQEEvent event = new RenderQEEvent(renderer, entity, state, renderPartialTicks, wavelengthIn, initialQE);
-		MinecraftForge.EVENT_BUS.post(event);
-		return event.getQE();
-	}
+	private static final LightmapTint LIGHTMAP_TINT = new LightmapTint();
 
 	@SubscribeEvent(priority = EventPriority.LOWEST)
 	public static void onDecideFogColor(EntityViewRenderEvent.FogColors event) {
-		float[] eff = new float[3];
-		for(EnumRGBA color : EnumRGBA.RGB)
-			eff[color.ordinal()] = getFilterQE(event, Wavelength.colorWaveMap.get(color), 1.0f);
+		float[] eff = Photometry.getColorQE(SAPIReferences.getOpticalProfile(event.getEntity()), efficiencies);
 
 		event.setRed((float) Math.min(event.getRed() * eff[0], 1.0));
 		event.setGreen((float) Math.min(event.getGreen() * eff[1], 1.0));
 		event.setBlue((float) Math.min(event.getBlue() * eff[2], 1.0));
 
-		if (eff[0] != 1.0f || eff[1] != 1.0f || eff[2] != 1.0f) {
-			DynamicTexture texture;
-			try {
-				texture = (DynamicTexture) lightMapField.get(event.getRenderer());
-
-				for (int i = 0; i < 255; i++) {
-					int data = texture.getTextureData()[i];
-					int red = ((data & 0x00ff0000) >> 16);
-					int green = ((data & 0x0000ff00) >> 8);
-					int blue = data & 0x000000ff;
-
-					red = Math.min(0xff, (int) (red * eff[0]));
-					green = Math.min(0xff, (int) (green * eff[1]));
-					blue = Math.min(0xff, (int) (blue * eff[2]));
-
-					texture.getTextureData()[i] = 255 << 24 | red << 16 | green << 8 | blue;
-				}
+		LIGHTMAP_TINT.setEfficiencies(eff[0], eff[1], eff[2]);
 
+		try {
+			DynamicTexture texture = (DynamicTexture) lightMapField.get(event.getRenderer());
+			if (LIGHTMAP_TINT.apply(texture.getTextureData()))
 				texture.updateDynamicTexture();
-
-				lightMapUpdatedField.set(event.getRenderer(), true);
-
-			} catch (Exception exc) {
-				throw new RuntimeException(exc);
-			}
+		} catch (Exception exc) {
+			throw new RuntimeException(exc);
 		}
 	}
 
@@ -3,9 +3,12 @@ package stellarapi;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer.SleepResult;
 import net.minecraft.item.ItemStack;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.World;
 import net.minecraftforge.event.entity.player.PlayerSleepInBedEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import stellarapi.api.SAPICapabilities;
@@ -14,6 +17,8 @@ import stellarapi.api.event.FOVEvent;
 import stellarapi.api.event.QEEvent;
 import stellarapi.api.interact.IFilter;
 import stellarapi.api.interact.IScope;
+import stellarapi.feature.perdimres.PerDimensionResourceRegistry;
+import stellarapi.reference.CelestialPackManager;
 
 @Mod.EventBusSubscriber(modid = SAPIReferences.MODID)
 public class SAPICommonEventHook {
@@ -64,9 +69,25 @@ public class SAPICommonEventHook {
 		}
 	}
 
+	@SubscribeEvent
+	public static void onWorldLoad(WorldEvent.Load event) {
+		PerDimensionResourceRegistry.getInstance().onWorldLoad(event.getWorld());
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		PerDimensionResourceRegistry.getInstance().onWorldUnload(event.getWorld());
+	}
+
 	@SubscribeEvent
 	public static void onSyncConfig(ConfigChangedEvent.OnConfigChangedEvent event) {
-		if (event.getModID().equals(SAPIReferences.MODID))
+		if (event.getModID().equals(SAPIReferences.MODID)) {
 			StellarAPI.INSTANCE.getCfgManager().syncFromGUI();
+
+			// Applies the change to the running integrated server.
+			MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+			if (server != null)
+				server.addScheduledTask(() -> CelestialPackManager.reloadAll(server));
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package stellarapi;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.event.entity.player.PlayerSleepInBedEvent;
+import net.minecraftforge.event.entity.player.PlayerWakeUpEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+
+/**
+ * Tracks whether every player is sleeping on each world.
+ * Players are only checked again when sleep-related events happen,
+ * so the check on each tick doesn't scan the players.
+ */
+public class SAPISleepTracker {
+
+	/** Ticks for players to fall asleep completely, same as vanilla. */
+	private static final int FULL_SLEEP_TICKS = 100;
+
+	private final Set<Integer> dirtyDimensions = Sets.newHashSet();
+	/** Total world time when all players went to sleep, for each dimension. */
+	private final Map<Integer, Long> allSleepingSince = Maps.newHashMap();
+
+	/**
+	 * Checks if all players on the world are fully asleep.
+	 * Only scans the players when the sleep state could have been changed,
+	 * or when all of them could be fully asleep now.
+	 */
+	public boolean areAllPlayersAsleep(WorldServer world) {
+		int dimension = world.provider.getDimension();
+
+		if(dirtyDimensions.remove(dimension)) {
+			world.updateAllPlayersSleepingFlag();
+			if(this.isEveryoneSleeping(world))
+				allSleepingSince.put(dimension, world.getTotalWorldTime());
+			else allSleepingSince.remove(dimension);
+		}
+
+		Long since = allSleepingSince.get(dimension);
+		if(since == null || world.getTotalWorldTime() < since + FULL_SLEEP_TICKS)
+			return false;
+
+		return world.areAllPlayersAsleep();
+	}
+
+	private boolean isEveryoneSleeping(WorldServer world) {
+		boolean hasPlayer = false;
+		for(EntityPlayer player : world.playerEntities) {
+			if(player.isSpectator())
+				continue;
+			if(!player.isPlayerSleeping())
+				return false;
+			hasPlayer = true;
+		}
+
+		return hasPlayer;
+	}
+
+	private void markDirty(World world) {
+		if(!world.isRemote)
+			dirtyDimensions.add(world.provider.getDimension());
+	}
+
+	@SubscribeEvent
+	public void onSleepInBed(PlayerSleepInBedEvent event) {
+		this.markDirty(event.getEntityPlayer().world);
+	}
+
+	@SubscribeEvent
+	public void onWakeUp(PlayerWakeUpEvent event) {
+		this.markDirty(event.getEntityPlayer().world);
+	}
+
+	@SubscribeEvent
+	public void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+		this.markDirty(event.player.world);
+	}
+
+	@SubscribeEvent
+	public void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		this.markDirty(event.player.world);
+	}
+
+	@SubscribeEvent
+	public void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+		this.markDirty(event.player.world);
+	}
+
+	@SubscribeEvent
+	public void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+		if(!event.player.world.isRemote) {
+			dirtyDimensions.add(event.fromDim);
+			dirtyDimensions.add(event.toDim);
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		if(!event.getWorld().isRemote) {
+			int dimension = event.getWorld().provider.getDimension();
+			dirtyDimensions.remove(dimension);
+			allSleepingSince.remove(dimension);
+		}
+	}
+}
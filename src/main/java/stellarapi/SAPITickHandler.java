@@ -1,6 +1,7 @@
 package stellarapi;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.storage.WorldInfo;
@@ -11,16 +12,27 @@ import stellarapi.api.SAPIReferences;
 
 public class SAPITickHandler {
 
-	private Method wakeAllPlayers = null;
-	
-	private void wakeAllPlayers(WorldServer world) {
-		if(this.wakeAllPlayers == null) {
-			this.wakeAllPlayers = ReflectionHelper.findMethod(WorldServer.class, "wakeAllPlayers", "func_73053_d");
+	private static final MethodHandle wakeAllPlayersHandle;
+
+	static {
+		try {
+			wakeAllPlayersHandle = MethodHandles.lookup().unreflect(
+					ReflectionHelper.findMethod(WorldServer.class, "wakeAllPlayers", "func_73053_d"));
+		} catch (IllegalAccessException exception) {
+			throw new RuntimeException(exception);
 		}
+	}
 
+	private final SAPISleepTracker sleepTracker;
+
+	public SAPITickHandler(SAPISleepTracker sleepTracker) {
+		this.sleepTracker = sleepTracker;
+	}
+
+	private void wakeAllPlayers(WorldServer world) {
 		try {
-			wakeAllPlayers.invoke(world);
-		} catch (Exception exception) {
+			wakeAllPlayersHandle.invokeExact(world);
+		} catch (Throwable exception) {
 			throw new RuntimeException(exception);
 		}
 	}
@@ -32,8 +44,7 @@ public class SAPITickHandler {
 				if (SAPIReferences.getSleepWakeManager().isEnabled()) {
 					WorldServer world = (WorldServer) e.world;
 
-					world.updateAllPlayersSleepingFlag();
-					if (world.areAllPlayersAsleep())
+					if (sleepTracker.areAllPlayersAsleep(world))
 						this.tryWakePlayers(world);
 				}
 			}
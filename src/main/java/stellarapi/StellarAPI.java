@@ -24,6 +24,7 @@ import stellarapi.api.world.worldset.WorldSets;
 import stellarapi.example.world.WorldReplacerEnd;
 import stellarapi.feature.celestial.tweakable.SAPICelestialPack;
 import stellarapi.feature.command.CommandPerDimensionResource;
+import stellarapi.feature.command.CommandReloadCelestials;
 import stellarapi.feature.command.FixedCommandTime;
 import stellarapi.feature.config.SAPIConfigHandler;
 import stellarapi.feature.network.StellarAPINetworkManager;
@@ -58,7 +59,8 @@ public final class StellarAPI {
 
 	private Logger logger;
 
-	private SAPITickHandler tickHandler = new SAPITickHandler();
+	private SAPISleepTracker sleepTracker = new SAPISleepTracker();
+	private SAPITickHandler tickHandler = new SAPITickHandler(this.sleepTracker);
 	private StellarAPINetworkManager networkManager = new StellarAPINetworkManager();
 
 	private Configuration config;
@@ -91,6 +93,7 @@ public final class StellarAPI {
 		reference.initialize();
 		SAPIReferences.putReference(reference);
 
+		MinecraftForge.EVENT_BUS.register(this.sleepTracker);
 		MinecraftForge.EVENT_BUS.register(this.tickHandler);
 		MinecraftForge.EVENT_BUS.register(this.networkManager);
 		MinecraftForge.EVENT_BUS.register(SAPIItems.INSTANCE);
@@ -150,6 +153,7 @@ public final class StellarAPI {
 	public void serverStarting(FMLServerStartingEvent event) {
 		event.registerServerCommand(new CommandPerDimensionResource());
 		event.registerServerCommand(new FixedCommandTime());
+		event.registerServerCommand(new CommandReloadCelestials());
 	}
 
 
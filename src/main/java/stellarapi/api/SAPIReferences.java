@@ -10,19 +10,19 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
-import net.minecraftforge.client.event.FOVUpdateEvent;
-import net.minecraftforge.common.MinecraftForge;
 import stellarapi.api.celestials.CelestialCollections;
 import stellarapi.api.celestials.CelestialEffectors;
 import stellarapi.api.celestials.IEffectorType;
 import stellarapi.api.daywake.DaytimeChecker;
 import stellarapi.api.daywake.SleepWakeManager;
+import stellarapi.api.daywake.TimeSkipService;
 import stellarapi.api.event.FOVEvent;
 import stellarapi.api.event.QEEvent;
+import stellarapi.api.optics.OpticalProfile;
+import stellarapi.api.optics.OpticalProfileManager;
 import stellarapi.api.optics.Wavelength;
 import stellarapi.api.pack.ICelestialPack;
 import stellarapi.api.pack.ICelestialScene;
@@ -60,8 +60,10 @@ public final class SAPIReferences {
 	private List<IWorldProviderReplacer> worldProvReplacers = Lists.newArrayList();
 	private DaytimeChecker dayTimeChecker = new DaytimeChecker();
 	private SleepWakeManager sleepWakeManager = new SleepWakeManager();
+	private TimeSkipService timeSkipService = new TimeSkipService();
 
 	private WorldResourceManager resourceManager = new WorldResourceManager();
+	private OpticalProfileManager opticalProfiles = new OpticalProfileManager();
 
 	private static final SAPIReferences INSTANCE = new SAPIReferences();
 
@@ -75,6 +77,11 @@ public final class SAPIReferences {
 		return INSTANCE.sleepWakeManager;
 	}
 
+	/** Getter for time skip service */
+	public static TimeSkipService getTimeSkipService() {
+		return INSTANCE.timeSkipService;
+	}
+
 
 	/** Registers the pack. Placeholder method before 1.13 data packs. */
 	public static void registerPack(ICelestialPack pack) {
@@ -156,28 +163,59 @@ public final class SAPIReferences {
 		INSTANCE.resourceManager.register(handler);
 	}
 
+	/**
+	 * Invalidates resolved per-dimension resource locations.
+	 * <p>
+	 * Handlers should call this when the resources they provide are changed.
+	 */
+	public static void invalidatePerDimResources() {
+		INSTANCE.resourceManager.invalidate();
+	}
+
+	/**
+	 * Gets the generation of per-dimension resources, which changes
+	 * whenever the resolved locations could have been changed.
+	 */
+	public static int getResourceGeneration() {
+		return INSTANCE.resourceManager.getGeneration();
+	}
+
+	/**
+	 * Gets the cached optical profile of an entity.
+	 * */
+	public static OpticalProfile getOpticalProfile(Entity entity) {
+		return INSTANCE.opticalProfiles.getProfile(entity);
+	}
+
+	/**
+	 * Invalidates all the optical profiles.
+	 * <p>
+	 * Handlers of {@link FOVEvent} and {@link QEEvent} should call this when
+	 * their modifiers are changed.
+	 * */
+	public static void invalidateOpticalProfiles() {
+		INSTANCE.opticalProfiles.invalidate();
+	}
+
+	/**
+	 * Marks the optical profile of certain entity dirty.
+	 * */
+	public static void markOpticalProfileDirty(Entity entity) {
+		INSTANCE.opticalProfiles.markDirty(entity);
+	}
+
 	/**
 	 * Estimates FOV of an entity on server.
 	 * */
 	public static float estimateFOV(Entity entity) {
-		float mult = 1.0f;
-		if(entity instanceof EntityPlayer) {
-			FOVUpdateEvent updateEvent = new FOVUpdateEvent((EntityPlayer)entity, 1.0f);
-			MinecraftForge.EVENT_BUS.post(updateEvent);
-			mult = updateEvent.getNewfov();
-		}
-		FOVEvent event = new FOVEvent(entity, mult * 70.0f);
-		MinecraftForge.EVENT_BUS.post(event);
-		return event.getFOV();
+		return getOpticalProfile(entity).getFOV();
 	}
 
 	/**
 	 * Estimates Quantum Efficiency of an entity on server.
 	 * */
 	public static float estimateQE(Entity entity, Wavelength wavelength) {
-		QEEvent event = new QEEvent(entity, wavelength, 1.0f);
-		MinecraftForge.EVENT_BUS.post(event);
-		return event.getQE();
+		return getOpticalProfile(entity).getQE(wavelength);
 	}
 
 	/**
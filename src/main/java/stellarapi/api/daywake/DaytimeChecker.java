@@ -67,13 +67,30 @@ public class DaytimeChecker {
 	 *            stellar settings is invalid to check daytime settings
 	 */
 	public long timeForCertainDescriptor(World world, EnumDaytimeDescriptor descriptor, long defaultValue) {
+		return this.timeForCertainDescriptor(world, descriptor, world.getWorldTime(), defaultValue);
+	}
+
+	/**
+	 * Calculates time for certain descriptor, starting from certain time.
+	 * 
+	 * @param world
+	 *            the world
+	 * @param descriptor
+	 *            the daytime descriptor
+	 * @param currentTime
+	 *            the time to start from
+	 * @param defaultValue
+	 *            the value to return when no daytime checkers is detected or
+	 *            stellar settings is invalid to check daytime settings
+	 */
+	public long timeForCertainDescriptor(World world, EnumDaytimeDescriptor descriptor, long currentTime,
+			long defaultValue) {
 		ICCoordinates coordinate = SAPIReferences.getCoordinates(world);
 		CelestialEffectors lightSources = SAPIReferences.getEffectors(world, IEffectorType.Light);
 
 		for (IDaytimeChecker checker : this.daytimeCheckers) {
 			if (checker.accept(world, lightSources, coordinate, descriptor))
-				return checker.timeForCertainDescriptor(world, lightSources, coordinate, descriptor,
-						world.getWorldTime());
+				return checker.timeForCertainDescriptor(world, lightSources, coordinate, descriptor, currentTime);
 		}
 
 		return defaultValue;
@@ -33,6 +33,9 @@ public interface IWakeHandler extends IConfigHandler {
 
 	/**
 	 * Gets wake time for specific sleep time.
+	 * <p>
+	 * The wake time is cached by the manager until it passes, so sleeping at
+	 * any time before the returned wake time should give the same wake time.
 	 * 
 	 * @param world
 	 *            the world to control wake and sleep
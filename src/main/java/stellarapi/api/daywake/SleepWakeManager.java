@@ -1,13 +1,19 @@
 package stellarapi.api.daywake;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.world.World;
 import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.common.config.Property;
+import stellarapi.api.CelestialPeriod;
+import stellarapi.api.PeriodHelper;
 import stellarapi.api.SAPIReferences;
 import stellarapi.api.celestials.CelestialEffectors;
 import stellarapi.api.celestials.IEffectorType;
@@ -17,9 +23,15 @@ import stellarapi.api.view.ICCoordinates;
 public class SleepWakeManager implements IConfigHandler {
 
 	private boolean enabled;
-	// true for first, false for last
+	// true for earliest, false for latest
 	private boolean mode;
 	private List<WakeHandler> wakeHandlers = Lists.newArrayList();
+	/**
+	 * Cached schedule for each world. Cleared when the configuration is
+	 * reloaded, which can happen on the client thread while the integrated
+	 * server reads it.
+	 */
+	private final Map<World, WakeSchedule> schedules = Collections.synchronizedMap(new WeakHashMap<>());
 
 	/**
 	 * Registers wake handler.
@@ -29,6 +41,7 @@ public class SleepWakeManager implements IConfigHandler {
 	 */
 	public void register(String name, IWakeHandler handler, boolean defaultEnabled) {
 		wakeHandlers.add(0, new WakeHandler(name, handler, defaultEnabled));
+		schedules.clear();
 	}
 
 	public boolean isEnabled() {
@@ -39,24 +52,20 @@ public class SleepWakeManager implements IConfigHandler {
 	public void setupConfig(Configuration config, String category) {
 		config.setCategoryComment(category, "Configuration for Waking System.");
 		config.setCategoryLanguageKey(category, "config.category.wake");
-		config.setCategoryRequiresWorldRestart(category, true);
 
 		Property allEnabled = config.get(category, "Custom_Wake_Enabled", true);
 		allEnabled.setComment("Enable/Disable wake system provided by Stellar API");
-		allEnabled.setRequiresWorldRestart(true);
 		allEnabled.setLanguageKey("config.property.wakeenable");
 
 		Property mode = config.get(category, "Wake_Mode", "latest")
 				.setValidValues(new String[] { "earliest", "latest" });
 		mode.setComment("You can choose earliest or latest available wake time" + "among these wake properties");
-		mode.setRequiresWorldRestart(true);
 		mode.setLanguageKey("config.property.wakemode");
 
 		for (WakeHandler entry : this.wakeHandlers) {
 			String cat2 = category + Configuration.CATEGORY_SPLITTER + entry.name.toLowerCase();
 			Property enabled = config.get(cat2, "Enabled", entry.enabled);
 			enabled.setComment("Enable this wake property.");
-			enabled.setRequiresWorldRestart(true);
 			enabled.setLanguageKey("config.property.enablewake");
 			entry.handler.setupConfig(config, cat2);
 		}
@@ -65,13 +74,15 @@ public class SleepWakeManager implements IConfigHandler {
 	@Override
 	public void loadFromConfig(Configuration config, String category) {
 		this.enabled = config.getCategory(category).get("Custom_Wake_Enabled").getBoolean();
-		this.mode = config.getCategory(category).get("Wake_Mode").getString().equals("first");
+		this.mode = config.getCategory(category).get("Wake_Mode").getString().equals("earliest");
 
 		for (WakeHandler entry : this.wakeHandlers) {
 			String cat2 = category + Configuration.CATEGORY_SPLITTER + entry.name.toLowerCase();
 			entry.enabled = config.getCategory(cat2).get("Enabled").getBoolean();
 			entry.handler.loadFromConfig(config, cat2);
 		}
+
+		schedules.clear();
 	}
 
 	@Override
@@ -80,6 +91,8 @@ public class SleepWakeManager implements IConfigHandler {
 
 	/**
 	 * Calculates time to wake.
+	 * <p>
+	 * The wake time is cached until it passes, or until a celestial day passes.
 	 * 
 	 * @param world
 	 *            the world to wake up
@@ -87,37 +100,15 @@ public class SleepWakeManager implements IConfigHandler {
 	 *            the default wake time
 	 */
 	public long getWakeTime(World world, long defaultWakeTime) {
+		WakeSchedule schedule = this.getSchedule(world);
+		if (schedule.acceptedHandlers.isEmpty())
+			return defaultWakeTime;
 
-		ICCoordinates coordinate = SAPIReferences.getCoordinates(world);
-		CelestialEffectors lightSources = SAPIReferences.getEffectors(world, IEffectorType.Light);
-
-		long wakeTime;
-		boolean accepted = false;
-
-		if (this.mode) {
-			wakeTime = Integer.MAX_VALUE;
-			for (WakeHandler handler : wakeHandlers) {
-				if (handler.enabled && handler.handler.accept(world, lightSources, coordinate)) {
-					wakeTime = Math.min(wakeTime,
-							handler.handler.getWakeTime(world, lightSources, coordinate, world.getWorldTime()));
-					accepted = true;
-				}
-			}
-		} else {
-			wakeTime = Integer.MIN_VALUE;
-			for (WakeHandler handler : wakeHandlers) {
-				if (handler.enabled && handler.handler.accept(world, lightSources, coordinate)) {
-					wakeTime = Math.max(wakeTime,
-							handler.handler.getWakeTime(world, lightSources, coordinate, world.getWorldTime()));
-					accepted = true;
-				}
-			}
-		}
-
-		if (accepted)
-			return wakeTime;
+		long currentTime = world.getWorldTime();
+		if (currentTime < schedule.calculatedTime || currentTime >= schedule.validUntil)
+			schedule.calculateWakeTime(world, currentTime, this.mode);
 
-		return defaultWakeTime;
+		return schedule.wakeTime;
 	}
 
 	/**
@@ -133,24 +124,80 @@ public class SleepWakeManager implements IConfigHandler {
 	 *         {@code EntityPlayer.SleepResult.NOT_POSSIBLE_HERE}
 	 */
 	public EntityPlayer.SleepResult getSleepPossibility(World world, EntityPlayer.SleepResult defaultStatus) {
+		WakeSchedule schedule = this.getSchedule(world);
+		if (schedule.acceptedHandlers.isEmpty())
+			return defaultStatus;
+
+		EntityPlayer.SleepResult status = EntityPlayer.SleepResult.OK;
+		for (IWakeHandler handler : schedule.acceptedHandlers) {
+			status = handler.getSleepPossibility(world, schedule.lightSources, schedule.coordinate,
+					world.getWorldTime());
+			if (status != EntityPlayer.SleepResult.OK)
+				break;
+		}
+
+		return status;
+	}
+
+	private WakeSchedule getSchedule(World world) {
 		ICCoordinates coordinate = SAPIReferences.getCoordinates(world);
 		CelestialEffectors lightSources = SAPIReferences.getEffectors(world, IEffectorType.Light);
 
-		EntityPlayer.SleepResult status = EntityPlayer.SleepResult.OK;
-		boolean accepted = false;
+		WakeSchedule schedule = schedules.get(world);
+		// Settings of the world could be reloaded
+		if (schedule == null || schedule.coordinate != coordinate || schedule.lightSources != lightSources) {
+			ImmutableList.Builder<IWakeHandler> accepted = ImmutableList.builder();
+			for (WakeHandler handler : this.wakeHandlers)
+				if (handler.enabled && handler.handler.accept(world, lightSources, coordinate))
+					accepted.add(handler.handler);
 
-		for (WakeHandler handler : this.wakeHandlers) {
-			if (status == EntityPlayer.SleepResult.OK && handler.enabled
-					&& handler.handler.accept(world, lightSources, coordinate)) {
-				status = handler.handler.getSleepPossibility(world, lightSources, coordinate, world.getWorldTime());
-				accepted = true;
-			}
+			schedule = new WakeSchedule(coordinate, lightSources, accepted.build());
+			schedules.put(world, schedule);
+		}
+
+		return schedule;
+	}
+
+	/**
+	 * Wake schedule for a world.
+	 * Acceptance of handlers only depends on the world, so it's determined once.
+	 */
+	private static class WakeSchedule {
+		private final ICCoordinates coordinate;
+		private final CelestialEffectors lightSources;
+		private final ImmutableList<IWakeHandler> acceptedHandlers;
+
+		private long calculatedTime = Long.MAX_VALUE;
+		private long validUntil = Long.MIN_VALUE;
+		private long wakeTime;
+
+		private WakeSchedule(ICCoordinates coordinate, CelestialEffectors lightSources,
+				ImmutableList<IWakeHandler> acceptedHandlers) {
+			this.coordinate = coordinate;
+			this.lightSources = lightSources;
+			this.acceptedHandlers = acceptedHandlers;
 		}
 
-		if (accepted)
-			return status;
+		private void calculateWakeTime(World world, long currentTime, boolean earliest) {
+			long wakeTime = earliest ? Long.MAX_VALUE : Long.MIN_VALUE;
+			long validUntil = Long.MAX_VALUE;
 
-		return defaultStatus;
+			for (IWakeHandler handler : this.acceptedHandlers) {
+				long handlerWakeTime = handler.getWakeTime(world, this.lightSources, this.coordinate, currentTime);
+				wakeTime = earliest ? Math.min(wakeTime, handlerWakeTime) : Math.max(wakeTime, handlerWakeTime);
+				// Each wake time holds till it passes
+				validUntil = Math.min(validUntil, handlerWakeTime);
+			}
+
+			CelestialPeriod dayPeriod = PeriodHelper.getDayPeriod(world);
+			if (dayPeriod != null)
+				validUntil = Math.min(validUntil, currentTime + (long) dayPeriod.getPeriodLength());
+
+			this.calculatedTime = currentTime;
+			// Always valid at the calculated time
+			this.validUntil = Math.max(validUntil, currentTime + 1);
+			this.wakeTime = wakeTime;
+		}
 	}
 
 	private class WakeHandler {
@@ -0,0 +1,87 @@
+package stellarapi.api.daywake;
+
+import java.util.function.ToLongFunction;
+
+import net.minecraft.network.play.server.SPacketTimeUpdate;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.DerivedWorldInfo;
+import stellarapi.api.SAPIReferences;
+
+/**
+ * Changes time of all the worlds on the server at once.
+ * <p>
+ * Target times are calculated for every world with its own world info first,
+ * and applied afterwards. Worlds with {@link DerivedWorldInfo derived world
+ * info}, like vanilla secondary dimensions, can't keep their own time and
+ * follow the world they derive from, so no target is calculated for them.
+ * Each dimension gets one time update after all the changes.
+ */
+public class TimeSkipService {
+
+	/**
+	 * Sets time of all the worlds.
+	 * 
+	 * @param server
+	 *            the server
+	 * @param targetTime
+	 *            the function giving target time for each world which has
+	 *            its own world info
+	 */
+	public void setAllWorldTimes(MinecraftServer server, ToLongFunction<WorldServer> targetTime) {
+		WorldServer[] worlds = server.worlds;
+		long[] targets = new long[worlds.length];
+
+		for (int i = 0; i < worlds.length; i++)
+			if (!isTimeShared(worlds[i]))
+				targets[i] = targetTime.applyAsLong(worlds[i]);
+
+		for (int i = 0; i < worlds.length; i++)
+			if (!isTimeShared(worlds[i]))
+				worlds[i].setWorldTime(targets[i]);
+
+		for (WorldServer world : worlds)
+			server.getPlayerList().sendPacketToAllPlayersInDimension(
+					new SPacketTimeUpdate(world.getTotalWorldTime(), world.getWorldTime(),
+							world.getGameRules().getBoolean("doDaylightCycle")),
+					world.provider.getDimension());
+	}
+
+	/**
+	 * Checks if the world takes its time from another world.
+	 */
+	public boolean isTimeShared(WorldServer world) {
+		return world.getWorldInfo() instanceof DerivedWorldInfo;
+	}
+
+	/**
+	 * Sets time of all the worlds to the same time.
+	 */
+	public void setAllWorldTimes(MinecraftServer server, long time) {
+		this.setAllWorldTimes(server, world -> time);
+	}
+
+	/**
+	 * Adds certain amount of time to all the worlds.
+	 */
+	public void incrementAllWorldTimes(MinecraftServer server, long amount) {
+		this.setAllWorldTimes(server, world -> world.getWorldTime() + amount);
+	}
+
+	/**
+	 * Skips each world to the next time for certain descriptor on that world.
+	 * 
+	 * @param server
+	 *            the server
+	 * @param descriptor
+	 *            the daytime descriptor
+	 * @param defaultValue
+	 *            the time to set for worlds which can't determine time for
+	 *            the descriptor
+	 */
+	public void skipToDescriptor(MinecraftServer server, EnumDaytimeDescriptor descriptor, long defaultValue) {
+		DaytimeChecker checker = SAPIReferences.getDaytimeChecker();
+		this.setAllWorldTimes(server,
+				world -> checker.timeForCertainDescriptor(world, descriptor, defaultValue));
+	}
+}
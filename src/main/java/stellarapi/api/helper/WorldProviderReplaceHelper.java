@@ -1,7 +1,8 @@
 package stellarapi.api.helper;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
@@ -10,15 +11,15 @@ import net.minecraftforge.fml.relauncher.ReflectionHelper;
 
 public class WorldProviderReplaceHelper {
 
-	private static final Field providerField = ReflectionHelper.findField(World.class,
-			ObfuscationReflectionHelper.remapFieldNames(World.class.getName(), "field_73011_w"));
+	private static final MethodHandle providerSetter;
 
 	static {
+		// Accessible final instance fields can be set without touching modifiers
+		Field providerField = ReflectionHelper.findField(World.class,
+				ObfuscationReflectionHelper.remapFieldNames(World.class.getName(), "field_73011_w"));
 		try {
-			Field modifiersField = Field.class.getDeclaredField("modifiers");
-			modifiersField.setAccessible(true);
-			modifiersField.setInt(providerField, providerField.getModifiers() & ~Modifier.FINAL);
-		} catch (Exception exc) {
+			providerSetter = MethodHandles.lookup().unreflectSetter(providerField);
+		} catch (IllegalAccessException exc) {
 			throw new RuntimeException(exc);
 		}
 	}
@@ -33,8 +34,8 @@ public class WorldProviderReplaceHelper {
 	 */
 	public static void patchWorldProviderWith(World world, WorldProvider provider) {
 		try {
-			providerField.set(world, provider);
-		} catch (Exception exc) {
+			providerSetter.invokeExact(world, provider);
+		} catch (Throwable exc) {
 			throw new RuntimeException(exc);
 		}
 	}
@@ -18,7 +18,7 @@ public abstract class RGBFilter implements IFilter {
 
 	@Override
 	public float transformQE(Wavelength wavelength, float prevEfficiency) {
-		return prevEfficiency * (float)extensive.apply(wavelength).doubleValue();
+		return prevEfficiency * (float) extensive.applyAsDouble(wavelength);
 	}
 
 	public abstract double getFilterEfficiency(EnumRGBA color);
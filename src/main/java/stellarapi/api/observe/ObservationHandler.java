@@ -6,8 +6,10 @@ import net.minecraft.entity.Entity;
 import stellarapi.api.SAPIReferences;
 import stellarapi.api.celestials.CelestialCollections;
 import stellarapi.api.celestials.CelestialObject;
+import stellarapi.api.lib.math.Matrix3;
 import stellarapi.api.lib.math.SpCoord;
 import stellarapi.api.lib.math.Vector3;
+import stellarapi.api.optics.OpticalProfile;
 import stellarapi.api.optics.Wavelength;
 import stellarapi.api.view.IAtmosphereEffect;
 import stellarapi.api.view.ICCoordinates;
@@ -23,14 +25,20 @@ public class ObservationHandler {
 		if(manager != null) {
 			ICCoordinates coordinate = SAPIReferences.getCoordinates(viewer.world);
 			IAtmosphereEffect atmosphere = SAPIReferences.getAtmosphereEffect(viewer.world);
-			float efficiency = SAPIReferences.estimateQE(viewer, Wavelength.visible);
-			float multPower = SAPIReferences.estimateFOV(viewer) / 70.0f;
+			OpticalProfile profile = SAPIReferences.getOpticalProfile(viewer);
+			float efficiency = profile.getQE(Wavelength.visible);
+			float multPower = profile.getMultiplyingPower();
 
+			double[] altitudes = new double[region.coords.length];
+			for(int i = 0; i < altitudes.length; i++)
+				altitudes[i] = region.coords[i].y;
+			atmosphere.disapplyAtmRefraction(altitudes, 0, altitudes.length);
+
+			Matrix3 toAbs = coordinate.getProjectionToGround().transpose();
 			SearchRegion.Builder builder = SearchRegion.builder();
-			for(SpCoord coord : region.coords) {
-				SpCoord abs = new SpCoord().set(coord);
-				atmosphere.disapplyAtmRefraction(abs);
-				Vector3 absPos = coordinate.getProjectionToGround().transpose().transform(abs.getVec());
+			for(int i = 0; i < altitudes.length; i++) {
+				SpCoord abs = new SpCoord(region.coords[i].x, altitudes[i]);
+				Vector3 absPos = toAbs.transform(abs.getVec());
 				abs.setWithVec(absPos);
 				builder.addPos(abs);
 			}
@@ -13,7 +13,8 @@ import stellarapi.api.lib.math.Vector3;
  * */
 public class SearchRegion implements Predicate<SpCoord> {
 	public final SpCoord[] coords;
-	private Vector3[] positions = null;
+	/** Inverse of the vertex matrices of the triangles, computed on first test. */
+	private Matrix3[] inverses = null;
 	public final int[][] triangles;
 
 	private SearchRegion(SpCoord[] coordsIn, int[][] trianglesIn) {
@@ -28,20 +29,21 @@ public class SearchRegion implements Predicate<SpCoord> {
 
 	// TODO Consider direction of the triangle & More accurate calculation for small triangles
 	public boolean test(Vector3 pos) {
-		if(this.positions == null) {
-			this.positions = new Vector3[coords.length];
-			for(int i = 0; i < coords.length; i++)
-				this.positions[i] = coords[i].getVec();
+		if(this.inverses == null) {
+			this.inverses = new Matrix3[triangles.length];
+			for(int t = 0; t < triangles.length; t++) {
+				Matrix3 conv = new Matrix3();
+				for(int i = 0; i < 3; i++)
+					conv.setColumn(i, coords[triangles[t][i]].getVec());
+				this.inverses[t] = conv.invert();
+			}
 		}
 
 		Vector3 copy = new Vector3();
-		for(int[] triangle : this.triangles) {
-			Matrix3 conv = new Matrix3();
-			for(int i = 0; i < 3; i++)
-				conv.setRow(i, this.positions[triangle[i]]);
-			conv.invert();
-			conv.transform(copy.set(pos));
-			return copy.getX() > 0.0 && copy.getY() > 0.0 && copy.getZ() > 0.0;
+		for(Matrix3 inverse : this.inverses) {
+			inverse.transform(copy.set(pos));
+			if(copy.getX() >= 0.0 && copy.getY() >= 0.0 && copy.getZ() >= 0.0)
+				return true;
 		}
 
 		return false;
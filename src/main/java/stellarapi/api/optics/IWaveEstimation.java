@@ -1,11 +1,24 @@
 package stellarapi.api.optics;
 
+import java.util.function.ToDoubleFunction;
+
 import com.google.common.base.Function;
 
 /**
  * Utility interface for wave estimations.
  */
-public interface IWaveEstimation extends Function<Wavelength, Double> {
+public interface IWaveEstimation extends Function<Wavelength, Double>, ToDoubleFunction<Wavelength> {
+
+	/**
+	 * Estimates the value on certain wavelength without boxing.
+	 * 
+	 * @param wavelength
+	 *            the wavelength
+	 */
+	@Override
+	public default double applyAsDouble(Wavelength wavelength) {
+		return this.apply(wavelength);
+	}
 
 	/**
 	 * Multiplies the estimation.
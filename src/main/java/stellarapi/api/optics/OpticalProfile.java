@@ -0,0 +1,159 @@
+package stellarapi.api.optics;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.potion.Potion;
+import net.minecraft.potion.PotionEffect;
+import net.minecraftforge.client.event.FOVUpdateEvent;
+import net.minecraftforge.common.MinecraftForge;
+import stellarapi.api.event.FOVEvent;
+import stellarapi.api.event.QEEvent;
+
+/**
+ * Optical properties of an entity, i.e. its FOV and quantum efficiency on
+ * each wavelength.
+ * <p>
+ * Values are evaluated by posting {@link FOVEvent} and {@link QEEvent} once,
+ * and reused until the profile gets dirty. Quantum efficiencies on the
+ * wavelengths which aren't interned are evaluated on each query. It gets
+ * dirty when
+ * <ul>
+ * <li>the active item stack of the entity changes,
+ * <li>potion effects on the entity change,
+ * <li>or {@link stellarapi.api.SAPIReferences#invalidateOpticalProfiles()
+ * the profiles are invalidated}, which handlers of the events should call
+ * whenever their modifiers change.
+ * </ul>
+ */
+public class OpticalProfile {
+	private static final float DEFAULT_FOV = 70.0f;
+
+	// Weak, as the profiles are weakly keyed by the entity
+	private final WeakReference<Entity> entityRef;
+	private final OpticalProfileManager manager;
+
+	private boolean dirty = true;
+	private int generation;
+	private ItemStack activeStack;
+	/** Amplifiers of the potion effects, ignoring the remaining durations. */
+	private final Map<Potion, Integer> potions = Maps.newHashMap();
+
+	private float fov = Float.NaN;
+	private float[] efficiencies = new float[0];
+
+	OpticalProfile(Entity entity, OpticalProfileManager manager) {
+		this.entityRef = new WeakReference<>(entity);
+		this.manager = manager;
+	}
+
+	/**
+	 * Marks this profile dirty, so that it is evaluated again on next query.
+	 */
+	public void markDirty() {
+		this.dirty = true;
+	}
+
+	/**
+	 * Gets FOV of the entity in degrees.
+	 */
+	public float getFOV() {
+		Entity entity = this.checkValidity();
+		if (Float.isNaN(this.fov)) {
+			float mult = 1.0f;
+			if (entity instanceof EntityPlayer) {
+				FOVUpdateEvent updateEvent = new FOVUpdateEvent((EntityPlayer) entity, 1.0f);
+				MinecraftForge.EVENT_BUS.post(updateEvent);
+				mult = updateEvent.getNewfov();
+			}
+			FOVEvent event = new FOVEvent(entity, mult * DEFAULT_FOV);
+			MinecraftForge.EVENT_BUS.post(event);
+			this.fov = event.getFOV();
+		}
+		return this.fov;
+	}
+
+	/**
+	 * Gets multiplying power of the entity, relative to the default FOV.
+	 */
+	public float getMultiplyingPower() {
+		return this.getFOV() / DEFAULT_FOV;
+	}
+
+	/**
+	 * Gets quantum efficiency of the entity on certain wavelength.
+	 */
+	public float getQE(Wavelength wavelength) {
+		Entity entity = this.checkValidity();
+		int id = wavelength.getID();
+		if (id == Wavelength.NO_ID)
+			return this.evaluateQE(entity, wavelength);
+
+		if (id >= efficiencies.length) {
+			int size = efficiencies.length;
+			this.efficiencies = Arrays.copyOf(this.efficiencies, Math.max(id + 1, Wavelength.getIDCount()));
+			Arrays.fill(this.efficiencies, size, efficiencies.length, Float.NaN);
+		}
+
+		if (Float.isNaN(efficiencies[id]))
+			efficiencies[id] = this.evaluateQE(entity, wavelength);
+		return efficiencies[id];
+	}
+
+	private float evaluateQE(Entity entity, Wavelength wavelength) {
+		QEEvent event = new QEEvent(entity, wavelength, 1.0f);
+		MinecraftForge.EVENT_BUS.post(event);
+		return event.getQE();
+	}
+
+	private Entity checkValidity() {
+		Entity entity = entityRef.get();
+		ItemStack currentStack = null;
+		Collection<PotionEffect> currentEffects = null;
+		if (entity instanceof EntityLivingBase) {
+			currentStack = ((EntityLivingBase) entity).getActiveItemStack();
+			currentEffects = ((EntityLivingBase) entity).getActivePotionEffects();
+		}
+		int currentGeneration = manager.getGeneration();
+
+		if (this.dirty || this.generation != currentGeneration || this.activeStack != currentStack
+				|| this.potionsChanged(currentEffects)) {
+			this.dirty = false;
+			this.generation = currentGeneration;
+			this.activeStack = currentStack;
+			potions.clear();
+			if (currentEffects != null)
+				for (PotionEffect effect : currentEffects)
+					potions.put(effect.getPotion(), effect.getAmplifier());
+			this.fov = Float.NaN;
+			Arrays.fill(this.efficiencies, Float.NaN);
+		}
+		return entity;
+	}
+
+	/**
+	 * Checks if the potion effects changed, ignoring the remaining durations.
+	 */
+	private boolean potionsChanged(Collection<PotionEffect> effects) {
+		if (effects == null)
+			return !potions.isEmpty();
+		if (effects.size() != potions.size())
+			return true;
+
+		// Each potion appears once, so matching all of them means the same set
+		for (PotionEffect effect : effects) {
+			Integer amplifier = potions.get(effect.getPotion());
+			if (amplifier == null || amplifier != effect.getAmplifier())
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,43 @@
+package stellarapi.api.optics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraft.entity.Entity;
+
+/**
+ * Keeps {@link OpticalProfile} for each entity.
+ */
+public class OpticalProfileManager {
+	private final Map<Entity, OpticalProfile> profiles = Collections.synchronizedMap(new WeakHashMap<>());
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * Gets the optical profile of certain entity.
+	 */
+	public OpticalProfile getProfile(Entity entity) {
+		return profiles.computeIfAbsent(entity, key -> new OpticalProfile(key, this));
+	}
+
+	/**
+	 * Marks the profile of certain entity dirty if there is one.
+	 */
+	public void markDirty(Entity entity) {
+		OpticalProfile profile = profiles.get(entity);
+		if (profile != null)
+			profile.markDirty();
+	}
+
+	/**
+	 * Invalidates all the profiles.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+	}
+
+	int getGeneration() {
+		return generation.get();
+	}
+}
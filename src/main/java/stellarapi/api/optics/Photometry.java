@@ -0,0 +1,151 @@
+package stellarapi.api.optics;
+
+import javax.annotation.Nullable;
+
+import stellarapi.api.celestials.CelestialObject;
+import stellarapi.api.view.IAtmosphereEffect;
+
+/**
+ * Photometric helpers for rendering.
+ * <p>
+ * Flux from magnitude goes through a lookup table with linear interpolation,
+ * covering magnitudes from {@value #MIN_MAGNITUDE} to {@value #MAX_MAGNITUDE}
+ * in steps of 0.01 magnitude. Relative error is below
+ * 1.1&times;10<sup>-5</sup>, which is the interpolation error
+ * (0.4&middot;ln10&middot;0.01)<sup>2</sup>/8 plus float rounding. Outside the
+ * range it's calculated exactly.
+ * <p>
+ * Brightness for rendering is relative to the limiting magnitude, where
+ * objects on the limit get {@value #LIMIT_BRIGHTNESS} and objects 2.5
+ * magnitude brighter get full brightness.
+ */
+public final class Photometry {
+	public static final float MIN_MAGNITUDE = -30.0f;
+	public static final float MAX_MAGNITUDE = 30.0f;
+	public static final float LIMIT_BRIGHTNESS = 0.1f;
+
+	private static final int STEPS_PER_MAGNITUDE = 100;
+	private static final float[] FLUX_TABLE;
+
+	static {
+		int size = (int) ((MAX_MAGNITUDE - MIN_MAGNITUDE) * STEPS_PER_MAGNITUDE) + 1;
+		FLUX_TABLE = new float[size + 1];
+		for (int i = 0; i < size; i++)
+			FLUX_TABLE[i] = (float) Math.pow(10.0, -0.4 * (MIN_MAGNITUDE + (double) i / STEPS_PER_MAGNITUDE));
+		// Guard for interpolation on the maximum
+		FLUX_TABLE[size] = FLUX_TABLE[size - 1];
+	}
+
+	/**
+	 * Linear flux relative to magnitude 0, i.e. <code>10<sup>-0.4m</sup></code>.
+	 */
+	public static float flux(float magnitude) {
+		if (!(magnitude >= MIN_MAGNITUDE && magnitude <= MAX_MAGNITUDE))
+			return (float) Math.pow(10.0, -0.4 * magnitude);
+
+		// In double, as float loses the fraction on the far end of the table
+		double index = ((double) magnitude - MIN_MAGNITUDE) * STEPS_PER_MAGNITUDE;
+		int floor = (int) index;
+		float frac = (float) (index - floor);
+		return FLUX_TABLE[floor] + (FLUX_TABLE[floor + 1] - FLUX_TABLE[floor]) * frac;
+	}
+
+	/**
+	 * Magnitude of linear flux relative to magnitude 0.
+	 */
+	public static float magnitude(float flux) {
+		return (float) (-2.5 * Math.log10(flux));
+	}
+
+	/**
+	 * Brightness for rendering, clamped to 1.
+	 */
+	public static float brightness(float magnitude, float limit) {
+		return Math.min(1.0f, LIMIT_BRIGHTNESS * flux(magnitude - limit));
+	}
+
+	/**
+	 * Current magnitude of the object on certain wavelength.
+	 */
+	public static float getMagnitude(CelestialObject object, Wavelength wavelength) {
+		return (float) (object.getStandardMagnitude() - 2.5 * Math.log10(object.getCurrentBrightness(wavelength)));
+	}
+
+	// *** Color Vectors *** //
+
+	/**
+	 * Fills quantum efficiency of the profile on RGB.
+	 *
+	 * @return the vector filled
+	 */
+	public static float[] getColorQE(OpticalProfile profile, float[] qe) {
+		for (EnumRGBA color : EnumRGBA.RGB)
+			qe[color.ordinal()] = profile.getQE(Wavelength.colorWaveMap.get(color));
+		return qe;
+	}
+
+	/**
+	 * Fills extinction rate of the atmosphere on RGB, in magnitude per airmass.
+	 *
+	 * @return the vector filled
+	 */
+	public static float[] getColorExtinction(IAtmosphereEffect atmosphere, float[] extinction) {
+		for (EnumRGBA color : EnumRGBA.RGB)
+			extinction[color.ordinal()] = atmosphere.getExtinctionRate(Wavelength.colorWaveMap.get(color));
+		return extinction;
+	}
+
+	// *** Batch *** //
+
+	/**
+	 * Calculates RGBA for the objects in one pass.
+	 * <p>
+	 * RGB is the color normalized to the brightest channel, and alpha is the
+	 * brightness of that channel, so that the colors are meant to be blended
+	 * with source alpha.
+	 *
+	 * @param magnitudes
+	 *            the magnitudes of the objects
+	 * @param airmasses
+	 *            the airmasses of the objects, <code>null</code> for no extinction
+	 * @param qe
+	 *            quantum efficiency of the viewer on RGB
+	 * @param extinction
+	 *            extinction rate on RGB, in magnitude per airmass
+	 * @param limit
+	 *            the limiting magnitude
+	 * @param rgba
+	 *            the output, 4 bytes for each object
+	 * @param count
+	 *            the number of the objects
+	 */
+	public static void toRGBA(float[] magnitudes, @Nullable float[] airmasses, float[] qe, float[] extinction,
+			float limit, byte[] rgba, int count) {
+		float qeR = qe[0] * LIMIT_BRIGHTNESS, qeG = qe[1] * LIMIT_BRIGHTNESS, qeB = qe[2] * LIMIT_BRIGHTNESS;
+		float extR = extinction[0], extG = extinction[1], extB = extinction[2];
+
+		for (int i = 0; i < count; i++) {
+			float relative = magnitudes[i] - limit;
+			float airmass = airmasses != null ? airmasses[i] : 0.0f;
+
+			float red = qeR * flux(relative + extR * airmass);
+			float green = qeG * flux(relative + extG * airmass);
+			float blue = qeB * flux(relative + extB * airmass);
+			float max = Math.max(red, Math.max(green, blue));
+
+			int offset = 4 * i;
+			if (max > 0.0f) {
+				float scale = 255.0f / max;
+				rgba[offset] = (byte) (red * scale);
+				rgba[offset + 1] = (byte) (green * scale);
+				rgba[offset + 2] = (byte) (blue * scale);
+				rgba[offset + 3] = (byte) (Math.min(1.0f, max) * 255.0f);
+			} else {
+				rgba[offset] = rgba[offset + 1] = rgba[offset + 2] = rgba[offset + 3] = 0;
+			}
+		}
+	}
+
+	private Photometry() {
+	}
+}
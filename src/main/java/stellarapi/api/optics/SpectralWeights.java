@@ -0,0 +1,118 @@
+package stellarapi.api.optics;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+import com.google.common.base.Function;
+
+import stellarapi.api.lib.math.Spmath;
+
+/**
+ * Interpolation weights from sample wavelengths to target wavelengths, indexed
+ * by wavelength ID.
+ * <p>
+ * Weights for a target are calculated on the first query and reused after.
+ * Weights for the sample wavelengths themselves and the color wavelengths are
+ * calculated upfront. Weights for the wavelengths which aren't interned are
+ * calculated on each query.
+ */
+final class SpectralWeights {
+	private final Wavelength[] waves;
+	private final boolean extensive;
+
+	private volatile double[][] table;
+
+	SpectralWeights(Wavelength[] waves, boolean extensive) {
+		this.waves = waves;
+		this.extensive = extensive;
+
+		double[][] initial = new double[Wavelength.getIDCount()][];
+		for (Wavelength wave : waves)
+			if (wave.getID() != Wavelength.NO_ID)
+				initial[wave.getID()] = this.calculate(wave);
+		for (Wavelength wave : Wavelength.colorWaveMap.values())
+			initial[wave.getID()] = this.calculate(wave);
+		this.table = initial;
+	}
+
+	/**
+	 * Weighted sum of the sample values for certain target.
+	 * 
+	 * @param values
+	 *            the values on the sample wavelengths, in the same order
+	 * @param target
+	 *            the target wavelength
+	 */
+	double interpolate(double[] values, Wavelength target) {
+		double[] coeffs = this.getWeights(target);
+		double res = 0.0;
+		for (int i = 0; i < coeffs.length; i++)
+			res += coeffs[i] * values[i];
+		return res;
+	}
+
+	/**
+	 * Evaluates the function on certain wavelength, without boxing when
+	 * possible.
+	 */
+	@SuppressWarnings("unchecked")
+	static double evaluate(Function<Wavelength, Double> function, Wavelength wavelength) {
+		if (function instanceof ToDoubleFunction)
+			return ((ToDoubleFunction<Wavelength>) function).applyAsDouble(wavelength);
+		else
+			return function.apply(wavelength);
+	}
+
+	private double[] getWeights(Wavelength target) {
+		int id = target.getID();
+		if (id == Wavelength.NO_ID)
+			return this.calculate(target);
+
+		double[][] current = this.table;
+		if (id < current.length && current[id] != null)
+			return current[id];
+
+		// Weights only depend on the target, so racing updates are harmless
+		double[] coeffs = this.calculate(target);
+		double[][] updated = Arrays.copyOf(current, Math.max(current.length, id + 1));
+		updated[id] = coeffs;
+		this.table = updated;
+		return coeffs;
+	}
+
+	private double[] calculate(Wavelength target) {
+		double[] coeffs = new double[waves.length];
+		double width = target.getWidth();
+
+		for (int i = 0; i < waves.length; i++) {
+			if (waves[i].equals(target)) {
+				coeffs[i] = 1.0;
+				return onlyAt(coeffs, i);
+			}
+		}
+
+		double weightedSum = 0.0;
+		for (int i = 0; i < waves.length; i++) {
+			if (waves[i].getLength() == target.getLength()) {
+				coeffs[i] = extensive ? width / waves[i].getWidth() : 1.0;
+				return onlyAt(coeffs, i);
+			}
+
+			double weight = Spmath.quad(waves[i].getWidth() / (waves[i].getLength() - target.getLength()));
+			coeffs[i] = extensive ? weight / waves[i].getWidth() : weight;
+			weightedSum += weight;
+		}
+
+		double scale = extensive ? width / weightedSum : 1.0 / weightedSum;
+		for (int i = 0; i < waves.length; i++)
+			coeffs[i] *= scale;
+		return coeffs;
+	}
+
+	private static double[] onlyAt(double[] coeffs, int index) {
+		double value = coeffs[index];
+		Arrays.fill(coeffs, 0.0);
+		coeffs[index] = value;
+		return coeffs;
+	}
+}
@@ -3,9 +3,6 @@ package stellarapi.api.optics;
 import java.util.Map;
 
 import com.google.common.base.Function;
-import com.google.common.collect.Maps;
-
-import stellarapi.api.lib.math.Spmath;
 
 /**
  * Utility class for covering wavelengths.
@@ -17,62 +14,58 @@ import stellarapi.api.lib.math.Spmath;
  * with that part.
  */
 public class WaveExtensive implements IWaveEstimation {
-	private Map<Wavelength, Double> waveMap;
-
-	private Wavelength[] waves;
-	private double[] weights;
+	private final Wavelength[] waves;
+	private final double[] weights;
+	private final SpectralWeights interpolation;
 
 	public WaveExtensive(Map<Wavelength, Double> weights) {
-		this.waveMap = weights;
 		this.waves = new Wavelength[weights.size()];
 		this.weights = new double[weights.size()];
 		int index = 0;
-		for (Map.Entry<Wavelength, Double> entry : waveMap.entrySet()) {
+		for (Map.Entry<Wavelength, Double> entry : weights.entrySet()) {
 			this.waves[index] = entry.getKey();
 			this.weights[index++] = entry.getValue();
 		}
+		this.interpolation = new SpectralWeights(this.waves, true);
+	}
+
+	private WaveExtensive(Wavelength[] waves, double[] weights, SpectralWeights interpolation) {
+		this.waves = waves;
+		this.weights = weights;
+		this.interpolation = interpolation;
 	}
 
 	@Override
 	public Double apply(Wavelength wavelength) {
-		double res = 0.0;
-		double weightedSum = 0.0;
-		double width = wavelength.getWidth();
-
-		if (waveMap.containsKey(wavelength))
-			return waveMap.get(wavelength);
-
-		for (int i = 0; i < waves.length; i++) {
-			if (waves[i].getLength() == wavelength.getLength())
-				return weights[i] * width / waves[i].getWidth();
-
-			double weight = Spmath.quad(waves[i].getWidth() / (waves[i].getLength() - wavelength.getLength()));
-			res += weights[i] / waves[i].getWidth() * weight;
-			weightedSum += weight;
-		}
+		return this.applyAsDouble(wavelength);
+	}
 
-		return res / weightedSum * width;
+	@Override
+	public double applyAsDouble(Wavelength wavelength) {
+		return interpolation.interpolate(this.weights, wavelength);
 	}
 
+	/**
+	 * Multiplies the estimation, evaluating the function once per sample
+	 * wavelength.
+	 */
 	@Override
 	public WaveExtensive multiply(final Function<Wavelength, Double> toMultiply) {
-		return new WaveExtensive(
-				Maps.transformEntries(this.waveMap, new Maps.EntryTransformer<Wavelength, Double, Double>() {
-					@Override
-					public Double transformEntry(Wavelength key, Double value) {
-						return value * toMultiply.apply(key);
-					}
-				}));
+		double[] result = new double[weights.length];
+		for (int i = 0; i < waves.length; i++)
+			result[i] = weights[i] * SpectralWeights.evaluate(toMultiply, waves[i]);
+		return new WaveExtensive(this.waves, result, this.interpolation);
 	}
 
+	/**
+	 * Divides the estimation, evaluating the function once per sample
+	 * wavelength.
+	 */
 	@Override
 	public WaveExtensive divide(final Function<Wavelength, Double> toDivide) {
-		return new WaveExtensive(
-				Maps.transformEntries(this.waveMap, new Maps.EntryTransformer<Wavelength, Double, Double>() {
-					@Override
-					public Double transformEntry(Wavelength key, Double value) {
-						return value / toDivide.apply(key);
-					}
-				}));
+		double[] result = new double[weights.length];
+		for (int i = 0; i < waves.length; i++)
+			result[i] = weights[i] / SpectralWeights.evaluate(toDivide, waves[i]);
+		return new WaveExtensive(this.waves, result, this.interpolation);
 	}
 }
@@ -1,5 +1,7 @@
 package stellarapi.api.optics;
 
+import java.util.Map;
+
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
@@ -14,34 +16,34 @@ public class Wavelength {
 	/**
 	 * Normal visible wavelength for (naked) eye.
 	 */
-	public static final Wavelength visible = new Wavelength(551, 300);
+	public static final Wavelength visible = of(551, 300);
 
 	/**
 	 * Wavelength for U filter. (Lies on ultraviolet, but still has big
 	 * importance)
 	 */
-	public static final Wavelength U = new Wavelength(365, 66);
+	public static final Wavelength U = of(365, 66);
 
 	/**
 	 * Wavelength for B filter. Common wavelength for blue color.
 	 */
-	public static final Wavelength B = new Wavelength(445, 94);
+	public static final Wavelength B = of(445, 94);
 
 	/**
 	 * Wavelength for V filter. In normal case, share the same property with
 	 * visible wavelength. Also nearly common wavelength for green color.
 	 */
-	public static final Wavelength V = new Wavelength(551, 88);
+	public static final Wavelength V = of(551, 88);
 
 	/**
 	 * Wavelength for red color.
 	 */
-	public static final Wavelength red = new Wavelength(658, 90);
+	public static final Wavelength red = of(658, 90);
 
 	/**
 	 * Wavelength for R filter.
 	 */
-	public static final Wavelength R = new Wavelength(658, 138);
+	public static final Wavelength R = of(658, 138);
 
 	public static final ImmutableMap<EnumRGBA, Wavelength> colorWaveMap = Maps
 			.immutableEnumMap(ImmutableMap.<EnumRGBA, Wavelength> of(EnumRGBA.Red, red, EnumRGBA.Green, V,
@@ -57,9 +59,61 @@ public class Wavelength {
 	 */
 	private final double bandwidth;
 
+	/**
+	 * Interned ID, shared by all the equal wavelengths, or {@link #NO_ID}.
+	 */
+	private final int id;
+
+	/** ID of the wavelengths which aren't interned. */
+	public static final int NO_ID = -1;
+
+	/**
+	 * Creates a wavelength. It gets the ID when an equal one is already
+	 * interned, otherwise it doesn't get interned. Use {@link #of(double, double)}
+	 * for the wavelengths used repeatedly.
+	 */
 	public Wavelength(double length, double bandwidth) {
 		this.length = length;
 		this.bandwidth = bandwidth;
+		this.id = Registry.find(this);
+	}
+
+	private Wavelength(Wavelength wavelength, int id) {
+		this.length = wavelength.length;
+		this.bandwidth = wavelength.bandwidth;
+		this.id = id;
+	}
+
+	/**
+	 * Gets the interned instance for certain wavelength, interning it on the
+	 * first call.
+	 * 
+	 * @param length
+	 *            wavelength in nm
+	 * @param bandwidth
+	 *            bandwidth(FWHM) in nm
+	 */
+	public static Wavelength of(double length, double bandwidth) {
+		return Registry.intern(new Wavelength(length, bandwidth));
+	}
+
+	/**
+	 * Interned ID of this wavelength.
+	 * <p>
+	 * Equal interned wavelengths always have the same ID, and IDs are small
+	 * non-negative integers given in order of interning, never released. Use
+	 * this to index arrays of per-wavelength values. Wavelengths which aren't
+	 * interned get {@link #NO_ID}, and their values shouldn't be cached.
+	 */
+	public int getID() {
+		return this.id;
+	}
+
+	/**
+	 * Number of wavelength IDs given so far.
+	 */
+	public static int getIDCount() {
+		return Registry.count();
 	}
 
 	public double getLength() {
@@ -79,9 +133,40 @@ public class Wavelength {
 
 	@Override
 	public boolean equals(Object obj) {
-		if (obj instanceof Wavelength)
+		if (obj == this)
+			return true;
+		else if (obj instanceof Wavelength)
 			return ((Wavelength) obj).length == this.length && ((Wavelength) obj).bandwidth == this.bandwidth;
 		else
 			return false;
 	}
+
+	private static class Registry {
+		// Lookups don't lock, only interning does
+		private static final Map<Wavelength, Wavelength> canonicals = Maps.newConcurrentMap();
+
+		private static int find(Wavelength wavelength) {
+			Wavelength canonical = canonicals.get(wavelength);
+			return canonical != null ? canonical.id : NO_ID;
+		}
+
+		private static Wavelength intern(Wavelength wavelength) {
+			Wavelength canonical = canonicals.get(wavelength);
+			if (canonical != null)
+				return canonical;
+
+			synchronized (canonicals) {
+				canonical = canonicals.get(wavelength);
+				if (canonical == null) {
+					canonical = new Wavelength(wavelength, canonicals.size());
+					canonicals.put(canonical, canonical);
+				}
+				return canonical;
+			}
+		}
+
+		private static int count() {
+			return canonicals.size();
+		}
+	}
 }
@@ -0,0 +1,286 @@
+package stellarapi.api.render;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import stellarapi.api.celestials.CelestialCollections;
+import stellarapi.api.celestials.CelestialObject;
+import stellarapi.api.lib.math.Matrix3;
+import stellarapi.api.lib.math.SpCoord;
+import stellarapi.api.lib.math.Vector3;
+import stellarapi.api.observe.SearchRegion;
+import stellarapi.api.optics.Photometry;
+import stellarapi.api.optics.Wavelength;
+import stellarapi.api.view.IAtmosphereEffect;
+import stellarapi.api.view.ICCoordinates;
+
+/**
+ * Batch of celestial billboards culled by the view.
+ * <p>
+ * Candidates come from {@link CelestialCollections#findIn(SearchRegion, float, float)
+ * the search} on the view frustum, and then those below the horizon or outside
+ * the frustum are dropped. Visible ones are emitted as quads facing the camera,
+ * at distance 100 on horizontal coordinates, i.e. x to the east, y to the north
+ * and z to the zenith. The layout is <code>POSITION_TEX_COLOR</code>, with
+ * color from {@link Photometry#toRGBA(float[], float[], float[], float[], float, byte[], int)
+ * the batch photometry}.
+ * <p>
+ * The vertex buffer is reused between builds, so it's only valid until the
+ * next build. Doesn't touch GL by itself.
+ */
+public class CelestialRenderBatch {
+	public static final int VERTEX_SIZE = 24;
+	private static final double DISTANCE = 100.0;
+
+	// View, on horizontal coordinates
+	private final Vector3 forward = new Vector3(1.0, 0.0, 0.0);
+	private final Vector3 right = new Vector3(0.0, -1.0, 0.0);
+	private final Vector3 up = new Vector3(0.0, 0.0, 1.0);
+	private double tanHalfWidth = 1.0, tanHalfHeight = 1.0;
+	private double halfWidth = Math.PI / 4, halfHeight = Math.PI / 4;
+
+	private ByteBuffer buffer;
+	private final List<CelestialObject> visible = new ArrayList<>();
+
+	// Per visible object, reused between builds
+	private float[] positions = new float[0];
+	private float[] magnitudes = new float[0];
+	private float[] airmasses = new float[0];
+	private double[] altitudes = new double[0];
+	private byte[] colors = new byte[0];
+	private final float[] extinction = new float[3];
+
+	public CelestialRenderBatch(int initialCapacity) {
+		this.buffer = allocate(Math.max(1, initialCapacity) * 4 * VERTEX_SIZE);
+	}
+
+	/**
+	 * Sets the view.
+	 *
+	 * @param direction
+	 *            the direction of the camera on horizontal coordinates
+	 * @param roll
+	 *            the roll of the camera in degrees
+	 * @param fov
+	 *            the vertical FOV in degrees
+	 * @param aspect
+	 *            the aspect ratio, width over height
+	 */
+	public CelestialRenderBatch setView(SpCoord direction, double roll, double fov, double aspect) {
+		forward.set(direction.getVec());
+
+		// Looking at zenith or nadir, the azimuth gives the up direction
+		double azimuth = Math.toRadians(direction.x);
+		if (Math.abs(forward.getZ()) > 0.999999)
+			up.set(-Math.signum(forward.getZ()) * Math.cos(azimuth),
+					-Math.signum(forward.getZ()) * Math.sin(azimuth), 0.0);
+		else up.set(0.0, 0.0, 1.0);
+
+		right.setCross(this.forward, this.up).normalize();
+		up.setCross(this.right, this.forward).normalize();
+
+		if (roll != 0.0) {
+			Matrix3 rotation = new Matrix3().setAsRotation(this.forward, Math.toRadians(roll));
+			rotation.transform(this.right);
+			rotation.transform(this.up);
+		}
+
+		this.halfHeight = Math.toRadians(fov) / 2;
+		this.tanHalfHeight = Math.tan(this.halfHeight);
+		this.tanHalfWidth = this.tanHalfHeight * aspect;
+		this.halfWidth = Math.atan(this.tanHalfWidth);
+		return this;
+	}
+
+	/**
+	 * Region of the view frustum on horizontal coordinates.
+	 */
+	public SearchRegion getViewRegion() {
+		SpCoord[] corners = new SpCoord[4];
+		int[][] signs = { { -1, -1 }, { 1, -1 }, { 1, 1 }, { -1, 1 } };
+		for (int i = 0; i < 4; i++) {
+			Vector3 corner = new Vector3(this.forward)
+					.add(new Vector3(this.right).scale(signs[i][0] * this.tanHalfWidth))
+					.add(new Vector3(this.up).scale(signs[i][1] * this.tanHalfHeight));
+			corners[i] = new SpCoord().setWithVec(corner);
+		}
+		return SearchRegion.quad(corners[0], corners[1], corners[2], corners[3]);
+	}
+
+	/**
+	 * Builds the batch.
+	 *
+	 * @param collections
+	 *            the collections to search
+	 * @param coordinate
+	 *            the coordinates of the world
+	 * @param atmosphere
+	 *            the atmosphere of the world
+	 * @param efficiency
+	 *            quantum efficiency of the viewer
+	 * @param multPower
+	 *            multiplying power of the viewer
+	 * @param colorQE
+	 *            quantum efficiency of the viewer on RGB, see
+	 *            {@link Photometry#getColorQE(stellarapi.api.optics.OpticalProfile, float[])}
+	 * @param size
+	 *            half the width of the billboards
+	 * @param limit
+	 *            the limiting magnitude
+	 * @return the number of visible objects
+	 */
+	public int build(CelestialCollections collections, ICCoordinates coordinate, IAtmosphereEffect atmosphere,
+			float efficiency, float multPower, float[] colorQE, float size, float limit) {
+		visible.clear();
+		buffer.clear();
+
+		Matrix3 toGround = coordinate.getProjectionToGround();
+		Matrix3 toAbs = new Matrix3(toGround).transpose();
+
+		// Search on absolute coordinates, as in ObservationHandler
+		SearchRegion horRegion = this.getViewRegion();
+		double[] cornerAltitudes = new double[horRegion.coords.length];
+		for (int i = 0; i < cornerAltitudes.length; i++)
+			cornerAltitudes[i] = horRegion.coords[i].y;
+		atmosphere.disapplyAtmRefraction(cornerAltitudes, 0, cornerAltitudes.length);
+
+		SearchRegion.Builder builder = SearchRegion.builder();
+		for (int i = 0; i < cornerAltitudes.length; i++) {
+			SpCoord abs = new SpCoord(horRegion.coords[i].x, cornerAltitudes[i]);
+			builder.addPos(abs.setWithVec(toAbs.transform(abs.getVec())));
+		}
+		for (int[] trig : horRegion.triangles)
+			builder.addTriangle(trig[0], trig[1], trig[2]);
+
+		// Billboard margin, as an angle
+		double margin = Math.atan(size / DISTANCE) * Math.sqrt(2.0);
+		double tanWidth = this.halfWidth + margin < Math.PI / 2 ?
+				Math.tan(this.halfWidth + margin) : Double.POSITIVE_INFINITY;
+		double tanHeight = this.halfHeight + margin < Math.PI / 2 ?
+				Math.tan(this.halfHeight + margin) : Double.POSITIVE_INFINITY;
+		double sinMargin = Math.sin(margin);
+
+		// Gathers true horizontal positions of the candidates
+		Vector3 pos = new Vector3();
+		for (CelestialObject object : collections.findIn(builder.build(), efficiency, multPower)) {
+			Vector3 absPos = object.getCurrentPos();
+			if (absPos == null)
+				continue;
+
+			toGround.transform(pos.set(absPos)).normalize();
+			int index = visible.size();
+			if (index >= magnitudes.length)
+				this.grow(2 * index + 16);
+			positions[3 * index] = (float) pos.getX();
+			positions[3 * index + 1] = (float) pos.getY();
+			positions[3 * index + 2] = (float) pos.getZ();
+			altitudes[index] = Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, pos.getZ()))));
+			visible.add(object);
+		}
+
+		int candidates = visible.size();
+		atmosphere.applyAtmRefraction(this.altitudes, 0, candidates);
+
+		// Culls on apparent positions, compacting visible ones to the front
+		SpCoord horCoord = new SpCoord();
+		int count = 0;
+		for (int i = 0; i < candidates; i++) {
+			double px = positions[3 * i], py = positions[3 * i + 1];
+			double altitude = Math.toRadians(altitudes[i]);
+			double horizontal = Math.sqrt(px * px + py * py);
+			double scale = horizontal > 0.0 ? Math.cos(altitude) / horizontal : 0.0;
+			px *= scale;
+			py *= scale;
+			double pz = Math.sin(altitude);
+
+			// Horizon
+			if (pz < -sinMargin)
+				continue;
+
+			// Frustum
+			double depth = px * forward.getX() + py * forward.getY() + pz * forward.getZ();
+			if (depth <= 0.0)
+				continue;
+			double x = px * right.getX() + py * right.getY() + pz * right.getZ();
+			double y = px * up.getX() + py * up.getY() + pz * up.getZ();
+			if (Math.abs(x) > tanWidth * depth || Math.abs(y) > tanHeight * depth)
+				continue;
+
+			CelestialObject object = visible.get(i);
+			positions[3 * count] = (float) px;
+			positions[3 * count + 1] = (float) py;
+			positions[3 * count + 2] = (float) pz;
+			magnitudes[count] = Photometry.getMagnitude(object, Wavelength.visible);
+			horCoord.x = Math.toDegrees(Math.atan2(py, px));
+			horCoord.y = altitudes[i];
+			airmasses[count] = atmosphere.calculateAirmass(horCoord);
+			visible.set(count++, object);
+		}
+		visible.subList(count, candidates).clear();
+
+		Photometry.toRGBA(this.magnitudes, this.airmasses, colorQE,
+				Photometry.getColorExtinction(atmosphere, this.extinction), limit, this.colors, count);
+
+		if (buffer.capacity() < count * 4 * VERTEX_SIZE)
+			this.buffer = allocate(Math.max(2 * buffer.capacity(), count * 4 * VERTEX_SIZE));
+		for (int i = 0; i < count; i++)
+			this.putBillboard(i, size);
+
+		buffer.flip();
+		return count;
+	}
+
+	private void grow(int capacity) {
+		this.positions = Arrays.copyOf(this.positions, 3 * capacity);
+		this.magnitudes = Arrays.copyOf(this.magnitudes, capacity);
+		this.airmasses = Arrays.copyOf(this.airmasses, capacity);
+		this.altitudes = Arrays.copyOf(this.altitudes, capacity);
+		this.colors = Arrays.copyOf(this.colors, 4 * capacity);
+	}
+
+	private void putBillboard(int index, float size) {
+		double cx = positions[3 * index] * DISTANCE;
+		double cy = positions[3 * index + 1] * DISTANCE;
+		double cz = positions[3 * index + 2] * DISTANCE;
+
+		for (int j = 0; j < 4; j++) {
+			int u = (j == 1 || j == 2) ? 1 : 0;
+			int v = j / 2;
+			double du = (2 * u - 1) * size, dv = (2 * v - 1) * size;
+
+			buffer.putFloat((float) (cx + du * right.getX() + dv * up.getX()));
+			buffer.putFloat((float) (cy + du * right.getY() + dv * up.getY()));
+			buffer.putFloat((float) (cz + du * right.getZ() + dv * up.getZ()));
+			buffer.putFloat(u);
+			buffer.putFloat(1 - v);
+			buffer.put(this.colors, 4 * index, 4);
+		}
+	}
+
+	/**
+	 * Gets the vertex buffer, ready to be read from position 0 to the limit.
+	 */
+	public ByteBuffer getBuffer() {
+		buffer.position(0);
+		return this.buffer;
+	}
+
+	public int getVertexCount() {
+		return buffer.limit() / VERTEX_SIZE;
+	}
+
+	/**
+	 * Objects in the batch, in the order of the billboards.
+	 */
+	public List<CelestialObject> getVisibleObjects() {
+		return Collections.unmodifiableList(this.visible);
+	}
+
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+}
@@ -1,9 +1,17 @@
 package stellarapi.api.render;
 
+import net.minecraft.world.World;
 import net.minecraftforge.client.IRenderHandler;
 
 /** Adaptive renderer which adapts previous render handler. */
 public abstract class IAdaptiveRenderer extends IRenderHandler {
 	/** Sets the replaced renderer. */
 	public abstract void setReplacedRenderer(IRenderHandler handler);
+
+	/**
+	 * Called when this renderer is removed from the world, i.e. replaced by
+	 * another one or the world is unloaded. Should release its resources, and
+	 * put back the replaced renderer if this one is still on the world.
+	 */
+	public void onRemoved(World world) { }
 }
@@ -0,0 +1,174 @@
+package stellarapi.api.timeline;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import net.minecraft.world.World;
+import stellarapi.api.CelestialPeriod;
+import stellarapi.api.PeriodHelper;
+import stellarapi.api.SAPIReferences;
+import stellarapi.api.celestials.CelestialEffectors;
+import stellarapi.api.celestials.CelestialObject;
+import stellarapi.api.celestials.IEffectorType;
+import stellarapi.api.daywake.EnumDaytimeDescriptor;
+import stellarapi.api.daywake.ImpossibleDescriptorException;
+import stellarapi.api.lib.math.Vector3;
+import stellarapi.api.view.ICCoordinates;
+
+/**
+ * Enumerates celestial events over a time range without stepping through
+ * each tick.
+ * <p>
+ * Every event is derived from the periods of the effectors, so skipping a
+ * month costs as much as the number of events in it.
+ * <p>
+ * Positions of the effectors are taken at the current time, so rise and set
+ * times are exact only when the effector doesn't move relative to the
+ * rotation of the coordinate, i.e. its declination stays the same.
+ */
+public class CelestialTimeline {
+
+	/**
+	 * Number of phases in a phase period, the same as vanilla moon phases.
+	 */
+	public static final int PHASE_COUNT = 8;
+
+	private static final Comparator<TimelineEvent> ORDER = Comparator.comparingLong(TimelineEvent::getTime)
+			.thenComparing(TimelineEvent::getType);
+
+	/**
+	 * Gets all the events in certain time range, sorted by time.
+	 * 
+	 * @param world
+	 *            the world
+	 * @param timeFrom
+	 *            the start of the range, inclusive
+	 * @param timeTo
+	 *            the end of the range, exclusive
+	 */
+	public static List<TimelineEvent> getEvents(World world, long timeFrom, long timeTo) {
+		return getEvents(world, timeFrom, timeTo, EnumSet.allOf(EnumTimelineEvent.class));
+	}
+
+	/**
+	 * Gets events of certain types in certain time range, sorted by time.
+	 * 
+	 * @param world
+	 *            the world
+	 * @param timeFrom
+	 *            the start of the range, inclusive
+	 * @param timeTo
+	 *            the end of the range, exclusive
+	 * @param types
+	 *            the types of events to collect
+	 */
+	public static List<TimelineEvent> getEvents(World world, long timeFrom, long timeTo,
+			Set<EnumTimelineEvent> types) {
+		List<TimelineEvent> events = Lists.newArrayList();
+		if (timeFrom >= timeTo)
+			return events;
+
+		ICCoordinates coordinate = SAPIReferences.getCoordinates(world);
+		ImmutableSet<IEffectorType> effectorTypes = SAPIReferences.getEffectTypeSet(world);
+
+		if (effectorTypes != null) {
+			Set<CelestialObject> visited = Sets.newIdentityHashSet();
+			for (IEffectorType type : effectorTypes) {
+				CelestialEffectors effectors = SAPIReferences.getEffectors(world, type);
+				if (effectors == null)
+					continue;
+				for (CelestialObject object : effectors.getLightSources())
+					if (visited.add(object))
+						collectObjectEvents(object, coordinate, timeFrom, timeTo, types, events);
+			}
+		}
+
+		if (types.contains(EnumTimelineEvent.DESCRIPTOR))
+			collectDescriptorEvents(world, timeFrom, timeTo, events);
+
+		Collections.sort(events, ORDER);
+		return events;
+	}
+
+	private static void collectObjectEvents(CelestialObject object, ICCoordinates coordinate, long timeFrom,
+			long timeTo, Set<EnumTimelineEvent> types, List<TimelineEvent> events) {
+		CelestialPeriod horizontal = coordinate != null ? object.getHorizontalPeriod(coordinate) : null;
+		if (horizontal != null
+				&& (types.contains(EnumTimelineEvent.RISE) || types.contains(EnumTimelineEvent.SET))) {
+			Vector3 pos = object.getCurrentPos();
+			// Horizontal period starts from the lowest position
+			double horizonOffset = coordinate.offsetTillObjectReach(pos, 0.0);
+			if (!Double.isNaN(horizonOffset)) {
+				if (types.contains(EnumTimelineEvent.RISE))
+					for (long time : timesForOffset(horizontal, timeFrom, timeTo, horizonOffset))
+						events.add(TimelineEvent.horizon(time, object, true));
+				if (types.contains(EnumTimelineEvent.SET))
+					for (long time : timesForOffset(horizontal, timeFrom, timeTo, 1.0 - horizonOffset))
+						events.add(TimelineEvent.horizon(time, object, false));
+			}
+		}
+
+		CelestialPeriod phasePeriod = object.getPhasePeriod();
+		if (phasePeriod != null && types.contains(EnumTimelineEvent.PHASE)) {
+			// Phase index is counted from biased offset, as in CelestialHelperSimple
+			for (int phase = 0; phase < PHASE_COUNT; phase++) {
+				double offset = ((double) phase / PHASE_COUNT + 0.5) % 1.0;
+				for (long time : timesForOffset(phasePeriod, timeFrom, timeTo, offset))
+					events.add(TimelineEvent.phase(time, object, phase));
+			}
+		}
+	}
+
+	private static void collectDescriptorEvents(World world, long timeFrom, long timeTo,
+			List<TimelineEvent> events) {
+		CelestialPeriod day = PeriodHelper.getDayPeriod(world);
+		if (day == null || !(day.getPeriodLength() > 0.0))
+			return;
+
+		double length = day.getPeriodLength();
+		for (EnumDaytimeDescriptor descriptor : EnumDaytimeDescriptor.values()) {
+			long first;
+			try {
+				first = SAPIReferences.getDaytimeChecker().timeForCertainDescriptor(world, descriptor, timeFrom,
+						timeFrom - 1);
+			} catch (ImpossibleDescriptorException exception) {
+				continue;
+			}
+			if (first < timeFrom)
+				continue;
+
+			for (long k = 0; first + (long) Math.floor(k * length) < timeTo; k++)
+				events.add(TimelineEvent.descriptor(first + (long) Math.floor(k * length), descriptor));
+		}
+	}
+
+	/**
+	 * Times in [timeFrom, timeTo) when the period reaches certain offset.
+	 */
+	private static long[] timesForOffset(CelestialPeriod period, long timeFrom, long timeTo, double offset) {
+		double length = period.getPeriodLength();
+		if (!(length > 0.0) || timeFrom >= timeTo)
+			return new long[0];
+
+		// Each time is distinct, so there are at most (timeTo - timeFrom) of them
+		int count = (int) Math.min(Math.min(Math.floor((timeTo - timeFrom) / length) + 1, timeTo - timeFrom),
+				Integer.MAX_VALUE);
+		long[] times = new long[count];
+		int size = 0;
+		long time = period.getTimeForOffset(timeFrom, offset);
+		while (time < timeTo && size < count) {
+			times[size++] = time;
+			time = period.getTimeForOffset(time + 1, offset);
+		}
+		return size == count ? times : Arrays.copyOf(times, size);
+	}
+
+}
@@ -0,0 +1,26 @@
+package stellarapi.api.timeline;
+
+/**
+ * Kinds of events on the celestial timeline.
+ */
+public enum EnumTimelineEvent {
+	/**
+	 * An effector rises over the horizon.
+	 */
+	RISE,
+
+	/**
+	 * An effector sets below the horizon.
+	 */
+	SET,
+
+	/**
+	 * An effector enters new phase.
+	 */
+	PHASE,
+
+	/**
+	 * Daytime descriptor of the world is reached.
+	 */
+	DESCRIPTOR
+}
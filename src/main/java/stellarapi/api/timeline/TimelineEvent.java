@@ -0,0 +1,88 @@
+package stellarapi.api.timeline;
+
+import javax.annotation.Nullable;
+
+import stellarapi.api.celestials.CelestialObject;
+import stellarapi.api.daywake.EnumDaytimeDescriptor;
+
+/**
+ * Event on the celestial timeline.
+ */
+public final class TimelineEvent {
+
+	private final long time;
+	private final EnumTimelineEvent type;
+	private final @Nullable CelestialObject object;
+	private final int phase;
+	private final @Nullable EnumDaytimeDescriptor descriptor;
+
+	private TimelineEvent(long time, EnumTimelineEvent type, @Nullable CelestialObject object, int phase,
+			@Nullable EnumDaytimeDescriptor descriptor) {
+		this.time = time;
+		this.type = type;
+		this.object = object;
+		this.phase = phase;
+		this.descriptor = descriptor;
+	}
+
+	static TimelineEvent horizon(long time, CelestialObject object, boolean rise) {
+		return new TimelineEvent(time, rise ? EnumTimelineEvent.RISE : EnumTimelineEvent.SET, object, -1, null);
+	}
+
+	static TimelineEvent phase(long time, CelestialObject object, int phase) {
+		return new TimelineEvent(time, EnumTimelineEvent.PHASE, object, phase, null);
+	}
+
+	static TimelineEvent descriptor(long time, EnumDaytimeDescriptor descriptor) {
+		return new TimelineEvent(time, EnumTimelineEvent.DESCRIPTOR, null, -1, descriptor);
+	}
+
+	/**
+	 * The world time in tick when this event happens.
+	 */
+	public long getTime() {
+		return this.time;
+	}
+
+	/**
+	 * The type of this event.
+	 */
+	public EnumTimelineEvent getType() {
+		return this.type;
+	}
+
+	/**
+	 * The effector for this event, or <code>null</code> for descriptor events.
+	 */
+	public @Nullable CelestialObject getObject() {
+		return this.object;
+	}
+
+	/**
+	 * The phase entered on this event, or <code>-1</code> if this is not a
+	 * phase event.
+	 */
+	public int getPhase() {
+		return this.phase;
+	}
+
+	/**
+	 * The descriptor reached on this event, or <code>null</code> if this is
+	 * not a descriptor event.
+	 */
+	public @Nullable EnumDaytimeDescriptor getDescriptor() {
+		return this.descriptor;
+	}
+
+	@Override
+	public String toString() {
+		switch (this.type) {
+		case PHASE:
+			return String.format("%d: %s phase %d", this.time, this.object.getName(), this.phase);
+		case DESCRIPTOR:
+			return String.format("%d: %s", this.time, this.descriptor);
+		default:
+			return String.format("%d: %s %s", this.time, this.object.getName(), this.type);
+		}
+	}
+}
@@ -22,6 +22,46 @@ public interface IAtmosphereEffect {
 	 */
 	public void disapplyAtmRefraction(SpCoord pos);
 
+	/**
+	 * Applies atmospheric refraction to horizontal altitudes in place.
+	 * <p>
+	 * Refraction is assumed to change only the altitude. Default
+	 * implementation calls {@link #applyAtmRefraction(SpCoord)} for each.
+	 * 
+	 * @param altitudes the altitudes in degrees
+	 * @param offset the first index to apply
+	 * @param length the number of altitudes to apply
+	 */
+	public default void applyAtmRefraction(double[] altitudes, int offset, int length) {
+		SpCoord pos = new SpCoord();
+		for(int i = offset; i < offset + length; i++) {
+			pos.x = 0.0;
+			pos.y = altitudes[i];
+			this.applyAtmRefraction(pos);
+			altitudes[i] = pos.y;
+		}
+	}
+
+	/**
+	 * Disapply atmospheric refraction to horizontal altitudes in place.
+	 * <p>
+	 * Refraction is assumed to change only the altitude. Default
+	 * implementation calls {@link #disapplyAtmRefraction(SpCoord)} for each.
+	 * 
+	 * @param altitudes the altitudes in degrees
+	 * @param offset the first index to disapply
+	 * @param length the number of altitudes to disapply
+	 */
+	public default void disapplyAtmRefraction(double[] altitudes, int offset, int length) {
+		SpCoord pos = new SpCoord();
+		for(int i = offset; i < offset + length; i++) {
+			pos.x = 0.0;
+			pos.y = altitudes[i];
+			this.disapplyAtmRefraction(pos);
+			altitudes[i] = pos.y;
+		}
+	}
+
 	/**
 	 * Calculates airmass for certain horizontal spherical position.
 	 * 
@@ -72,4 +72,15 @@ public interface ICelestialHelper {
 	 * */
 	public float minimumSkyRenderBrightness();
 
+	/**
+	 * Gets lighting state on certain time, with all the factors above. <p>
+	 * Implementations are encouraged to reuse the state for the same time,
+	 * as it is queried many times per frame.
+	 * @param worldTime current world time
+	 * @param partialTicks the partial tick
+	 * */
+	public default SkyLightingState getLightingState(long worldTime, float partialTicks) {
+		return new SkyLightingState(this, worldTime, partialTicks);
+	}
+
 }
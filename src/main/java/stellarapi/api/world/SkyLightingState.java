@@ -0,0 +1,111 @@
+package stellarapi.api.world;
+
+import stellarapi.api.optics.EnumRGBA;
+
+/**
+ * Snapshot of the lighting factors of a celestial helper on certain time.
+ * <p>
+ * Color dependent factors are indexed by {@link EnumRGBA}.
+ * */
+public final class SkyLightingState {
+	private final long worldTime;
+	private final float partialTicks;
+
+	private final float sunHeight;
+	private final float sunlightRenderBrightness;
+	private final float skyTransmission;
+	private final float minimumSkyRenderBrightness;
+
+	private final float[] sunlight = new float[4];
+	private final float[] sunriseSunset = new float[4];
+	private final float[] dispersion = new float[4];
+	private final float[] lightPollution = new float[4];
+
+	/**
+	 * Calculates the state from the helper.
+	 * @param helper the helper
+	 * @param worldTime current world time
+	 * @param partialTicks the partial tick
+	 * */
+	public SkyLightingState(ICelestialHelper helper, long worldTime, float partialTicks) {
+		this.worldTime = worldTime;
+		this.partialTicks = partialTicks;
+
+		this.sunHeight = helper.getSunHeightFactor(partialTicks);
+		this.sunlightRenderBrightness = helper.getSunlightRenderBrightnessFactor(partialTicks);
+		this.skyTransmission = helper.getSkyTransmissionFactor(partialTicks);
+		this.minimumSkyRenderBrightness = helper.minimumSkyRenderBrightness();
+
+		for(EnumRGBA color : EnumRGBA.values()) {
+			int index = color.ordinal();
+			this.sunlight[index] = helper.getSunlightFactor(color, partialTicks);
+			this.sunriseSunset[index] = helper.calculateSunriseSunsetFactor(color, partialTicks);
+			this.dispersion[index] = helper.getDispersionFactor(color, partialTicks);
+			this.lightPollution[index] = helper.getLightPollutionFactor(color, partialTicks);
+		}
+	}
+
+	/**
+	 * Builds the state from the given factors.
+	 * Arrays are indexed by {@link EnumRGBA} and copied.
+	 * */
+	public SkyLightingState(long worldTime, float partialTicks, float sunHeight, float sunlightRenderBrightness,
+			float skyTransmission, float minimumSkyRenderBrightness, float[] sunlight, float[] sunriseSunset,
+			float[] dispersion, float[] lightPollution) {
+		this.worldTime = worldTime;
+		this.partialTicks = partialTicks;
+		this.sunHeight = sunHeight;
+		this.sunlightRenderBrightness = sunlightRenderBrightness;
+		this.skyTransmission = skyTransmission;
+		this.minimumSkyRenderBrightness = minimumSkyRenderBrightness;
+		System.arraycopy(sunlight, 0, this.sunlight, 0, 4);
+		System.arraycopy(sunriseSunset, 0, this.sunriseSunset, 0, 4);
+		System.arraycopy(dispersion, 0, this.dispersion, 0, 4);
+		System.arraycopy(lightPollution, 0, this.lightPollution, 0, 4);
+	}
+
+	/** Checks if this state is for certain time. */
+	public boolean isFor(long worldTime, float partialTicks) {
+		return this.worldTime == worldTime && this.partialTicks == partialTicks;
+	}
+
+	/** @see ICelestialHelper#getSunHeightFactor(float) */
+	public float getSunHeight() {
+		return this.sunHeight;
+	}
+
+	/** @see ICelestialHelper#getSunlightFactor(EnumRGBA, float) */
+	public float getSunlight(EnumRGBA color) {
+		return this.sunlight[color.ordinal()];
+	}
+
+	/** @see ICelestialHelper#getSunlightRenderBrightnessFactor(float) */
+	public float getSunlightRenderBrightness() {
+		return this.sunlightRenderBrightness;
+	}
+
+	/** @see ICelestialHelper#getSkyTransmissionFactor(float) */
+	public float getSkyTransmission() {
+		return this.skyTransmission;
+	}
+
+	/** @see ICelestialHelper#calculateSunriseSunsetFactor(EnumRGBA, float) */
+	public float getSunriseSunset(EnumRGBA color) {
+		return this.sunriseSunset[color.ordinal()];
+	}
+
+	/** @see ICelestialHelper#getDispersionFactor(EnumRGBA, float) */
+	public float getDispersion(EnumRGBA color) {
+		return this.dispersion[color.ordinal()];
+	}
+
+	/** @see ICelestialHelper#getLightPollutionFactor(EnumRGBA, float) */
+	public float getLightPollution(EnumRGBA color) {
+		return this.lightPollution[color.ordinal()];
+	}
+
+	/** @see ICelestialHelper#minimumSkyRenderBrightness() */
+	public float getMinimumSkyRenderBrightness() {
+		return this.minimumSkyRenderBrightness;
+	}
+}
@@ -14,6 +14,8 @@ public interface IWorldResourceHandler {
 	 * 
 	 * @param world
 	 *            the world to check
+	 * @param resourceId
+	 *            the id of the resource
 	 * @param previous
 	 *            the previous per-dimension location.
 	 * @return <code>true</code> if this per-world getter will give
@@ -26,9 +28,33 @@ public interface IWorldResourceHandler {
 	 * 
 	 * @param world
 	 *            the world to replace the provider
+	 * @param resourceId
+	 *            the id of the resource
 	 * @param previous
 	 *            the previous per-dimension location
-	 * @return the per-dimension resource location for the world
+	 * @return the per-dimension resource location for the world. Returning
+	 *         <code>null</code> keeps the previous location, the same as not
+	 *         accepting it.
 	 */
 	public ResourceLocation getLocation(World world, String resourceId, ResourceLocation previous);
+
+	/**
+	 * Resolves the per-dimension object in a single call.
+	 * Override this to avoid doing the work twice for
+	 * {@link #accept(World, String, ResourceLocation) accept} and
+	 * {@link #getLocation(World, String, ResourceLocation) getLocation}.
+	 * 
+	 * @param world
+	 *            the world to check
+	 * @param resourceId
+	 *            the id of the resource
+	 * @param previous
+	 *            the previous per-dimension location
+	 * @return the per-dimension resource location for the world, or
+	 *         <code>null</code> if this handler doesn't accept it, which
+	 *         keeps the previous location
+	 */
+	default public ResourceLocation resolve(World world, String resourceId, ResourceLocation previous) {
+		return this.accept(world, resourceId, previous) ? this.getLocation(world, resourceId, previous) : null;
+	}
 }
@@ -8,7 +8,8 @@ import stellarapi.api.SAPIReferences;
  * <p>
  * Note that resource is only available on client, thus
  * {@link PerWorldResource#getLocation()} should only be called on client.
- * Also it is recommended not to cache the location, since the location can be
+ * The location is cached here until the resources are invalidated, so it is
+ * recommended not to cache the location elsewhere, since the location can be
  * changed dynamically.
  */
 public class PerWorldResource {
@@ -16,13 +17,22 @@ public class PerWorldResource {
 	private String resourceId;
 	private ResourceLocation defaultLocation;
 
+	private ResourceLocation cachedLocation;
+	private int cachedGeneration;
+
 	public PerWorldResource(String resourceId, ResourceLocation defaultLocation) {
 		this.resourceId = resourceId;
 		this.defaultLocation = defaultLocation;
 	}
 
 	public ResourceLocation getLocation() {
-		return SAPIReferences.getLocation(this.resourceId, this.defaultLocation);
+		int generation = SAPIReferences.getResourceGeneration();
+		if (this.cachedLocation == null || this.cachedGeneration != generation) {
+			this.cachedLocation = SAPIReferences.getLocation(this.resourceId, this.defaultLocation);
+			this.cachedGeneration = generation;
+		}
+
+		return this.cachedLocation;
 	}
 
 }
@@ -1,6 +1,7 @@
 package stellarapi.api.world.resource;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.Lists;
 
@@ -12,16 +13,34 @@ import net.minecraft.world.World;
  */
 public class WorldResourceManager {
 	private List<IWorldResourceHandler> listGetters = Lists.newArrayList();
+	private final AtomicInteger generation = new AtomicInteger();
 
 	public void register(IWorldResourceHandler handler) {
 		listGetters.add(handler);
+		this.invalidate();
+	}
+
+	/**
+	 * Invalidates the resolved locations, by moving on to the next generation.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Gets the current generation. Resolved locations stay the same within a generation.
+	 */
+	public int getGeneration() {
+		return generation.get();
 	}
 
 	public ResourceLocation getLocation(World world, String resourceId, ResourceLocation defaultLocation) {
 		ResourceLocation location = defaultLocation;
-		for (IWorldResourceHandler handler : this.listGetters)
-			if (handler.accept(world, resourceId, location))
-				location = handler.getLocation(world, resourceId, location);
+		for (IWorldResourceHandler handler : this.listGetters) {
+			ResourceLocation resolved = handler.resolve(world, resourceId, location);
+			if (resolved != null)
+				location = resolved;
+		}
 
 		return location;
 	}
@@ -0,0 +1,203 @@
+package stellarapi.example;
+
+import java.util.Arrays;
+
+import stellarapi.api.lib.math.SpCoord;
+import stellarapi.api.optics.Wavelength;
+import stellarapi.api.view.IAtmosphereEffect;
+
+/**
+ * Physically based atmosphere effect.
+ * <p>
+ * Refraction follows Saemundsson's formula, scaled with pressure and
+ * temperature, and the inverse is solved from it so that disapplying undoes
+ * applying. Airmass follows Kasten and Young. Extinction is the sum of
+ * Rayleigh scattering and aerosol extinction on each band.
+ * <p>
+ * Refraction, its inverse, and airmass are tabulated by altitude at
+ * construction, so each call is a table interpolation. Altitudes under
+ * {@value #MIN_ALTITUDE} degrees use the value on it.
+ */
+public class AtmosphereEffectPhysical implements IAtmosphereEffect {
+
+	public static final double MIN_ALTITUDE = -2.0;
+	private static final double MAX_ALTITUDE = 90.0;
+	private static final int STEPS_PER_DEGREE = 20;
+	private static final int TABLE_SIZE = (int) ((MAX_ALTITUDE - MIN_ALTITUDE) * STEPS_PER_DEGREE) + 1;
+
+	private static final double STANDARD_PRESSURE = 101.0;
+	private static final double STANDARD_TEMPERATURE = 10.0;
+
+	private final double pressure;
+	private final double seeing;
+	private final double aerosolDepth;
+
+	/** Refraction in degrees, indexed by true altitude. */
+	protected final float[] refraction = new float[TABLE_SIZE];
+	/** Refraction in degrees, indexed by apparent altitude. */
+	protected final float[] inverseRefraction = new float[TABLE_SIZE];
+	/** Airmass, indexed by apparent altitude. */
+	protected final float[] airmass = new float[TABLE_SIZE];
+
+	/**
+	 * Extinction by wavelength ID, NaN for not computed. Replaced as a whole
+	 * on each update, as it may be queried from several threads.
+	 */
+	private volatile float[] extinction = new float[0];
+
+	/**
+	 * Atmosphere on standard condition, with 1 arcsecond seeing.
+	 */
+	public AtmosphereEffectPhysical() {
+		this(STANDARD_PRESSURE, STANDARD_TEMPERATURE, 1.0, 0.08);
+	}
+
+	/**
+	 * @param pressure
+	 *            the pressure in kPa
+	 * @param temperature
+	 *            the temperature in degrees Celsius
+	 * @param seeing
+	 *            the seeing on visible band in arcseconds
+	 * @param aerosolDepth
+	 *            optical depth of aerosol on 550nm, around 0.05 to 0.3
+	 */
+	public AtmosphereEffectPhysical(double pressure, double temperature, double seeing, double aerosolDepth) {
+		this.pressure = pressure;
+		this.seeing = seeing;
+		this.aerosolDepth = aerosolDepth;
+
+		double factor = (pressure / STANDARD_PRESSURE) * (283.0 / (273.0 + temperature));
+		for (int i = 0; i < TABLE_SIZE; i++) {
+			double altitude = altitudeAt(i);
+			this.refraction[i] = (float) (factor * saemundsson(altitude));
+			this.airmass[i] = (float) kastenYoung(Math.max(0.0, altitude));
+		}
+
+		// Solves h + R(h) = a for the true altitude h
+		for (int i = 0; i < TABLE_SIZE; i++) {
+			double apparent = altitudeAt(i);
+			double real = apparent;
+			for (int iter = 0; iter < 8; iter++)
+				real = apparent - lookup(this.refraction, real);
+			this.inverseRefraction[i] = (float) (apparent - real);
+		}
+	}
+
+	// *** Formulas *** //
+
+	/** Refraction in degrees from true altitude, on standard condition. */
+	private static double saemundsson(double altitude) {
+		double arcmin = 1.02 / Math.tan(Math.toRadians(altitude + 10.3 / (altitude + 5.11)));
+		return Math.max(0.0, arcmin) / 60.0;
+	}
+
+	/** Airmass from apparent altitude in degrees. */
+	private static double kastenYoung(double altitude) {
+		return 1.0 / (Math.sin(Math.toRadians(altitude)) + 0.50572 * Math.pow(altitude + 6.07995, -1.6364));
+	}
+
+	/** Extinction in magnitude per airmass. */
+	private double calculateExtinction(Wavelength wavelength) {
+		double micron = wavelength.getLength() / 1000.0;
+		double rayleigh = 0.008735 * Math.pow(micron, -4.08) * (this.pressure / STANDARD_PRESSURE);
+		double aerosol = this.aerosolDepth * Math.pow(micron / 0.55, -1.3);
+		// Optical depth to magnitude
+		return 1.0857 * (rayleigh + aerosol);
+	}
+
+	// *** Tables *** //
+
+	private static double altitudeAt(int index) {
+		return MIN_ALTITUDE + (double) index / STEPS_PER_DEGREE;
+	}
+
+	/**
+	 * Interpolates the table on certain altitude.
+	 */
+	protected static float lookup(float[] table, double altitude) {
+		double index = (Math.min(MAX_ALTITUDE, Math.max(MIN_ALTITUDE, altitude)) - MIN_ALTITUDE) * STEPS_PER_DEGREE;
+		int floor = Math.min((int) index, TABLE_SIZE - 2);
+		float frac = (float) (index - floor);
+		return table[floor] + (table[floor + 1] - table[floor]) * frac;
+	}
+
+	// *** Effects *** //
+
+	@Override
+	public void applyAtmRefraction(SpCoord pos) {
+		pos.y += lookup(this.refraction, pos.y);
+	}
+
+	@Override
+	public void disapplyAtmRefraction(SpCoord pos) {
+		pos.y -= lookup(this.inverseRefraction, pos.y);
+	}
+
+	@Override
+	public void applyAtmRefraction(double[] altitudes, int offset, int length) {
+		float[] table = this.refraction;
+		for (int i = offset; i < offset + length; i++)
+			altitudes[i] += lookup(table, altitudes[i]);
+	}
+
+	@Override
+	public void disapplyAtmRefraction(double[] altitudes, int offset, int length) {
+		float[] table = this.inverseRefraction;
+		for (int i = offset; i < offset + length; i++)
+			altitudes[i] -= lookup(table, altitudes[i]);
+	}
+
+	@Override
+	public float calculateAirmass(SpCoord pos) {
+		return lookup(this.airmass, pos.y);
+	}
+
+	@Override
+	public float getExtinctionRate(Wavelength wavelength) {
+		int id = wavelength.getID();
+		if (id == Wavelength.NO_ID)
+			return (float) this.calculateExtinction(wavelength);
+
+		float[] current = this.extinction;
+		if (id < current.length && !Float.isNaN(current[id]))
+			return current[id];
+
+		// Extinction only depends on the wavelength, so racing updates are harmless
+		float rate = (float) this.calculateExtinction(wavelength);
+		float[] updated = Arrays.copyOf(current, Math.max(current.length, Math.max(id + 1, Wavelength.getIDCount())));
+		Arrays.fill(updated, current.length, updated.length, Float.NaN);
+		updated[id] = rate;
+		this.extinction = updated;
+		return rate;
+	}
+
+	/**
+	 * Seeing in degrees, which goes with the wavelength to the power of -0.2.
+	 */
+	@Override
+	public double getSeeing(Wavelength wl) {
+		return this.seeing / 3600.0 * Math.pow(wl.getLength() / Wavelength.visible.getLength(), -0.2);
+	}
+
+	@Override
+	public float getAbsorptionFactor(float partialTicks) {
+		return 0.0f;
+	}
+
+	@Override
+	public float getDispersionFactor(Wavelength wavelength, float partialTicks) {
+		return 1.0f;
+	}
+
+	@Override
+	public float getLightPollutionFactor(Wavelength wavelength, float partialTicks) {
+		return 0.0f;
+	}
+
+	@Override
+	public float minimumSkyRenderBrightness() {
+		return 0.2f;
+	}
+
+}
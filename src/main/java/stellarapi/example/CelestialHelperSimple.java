@@ -12,6 +12,7 @@ import stellarapi.api.view.IAtmosphereEffect;
 import stellarapi.api.view.ICCoordinates;
 import stellarapi.api.view.ViewUtil;
 import stellarapi.api.world.ICelestialHelper;
+import stellarapi.api.world.SkyLightingState;
 
 /**
  * Helper for WorldProvider.
@@ -37,6 +38,8 @@ public class CelestialHelperSimple implements ICelestialHelper {
 
 	private final IAtmosphereEffect sky;
 
+	private volatile SkyLightingState lastState;
+
 	public CelestialHelperSimple(float relativeMultiplierSun, float relativeMultiplierMoon,
 			@Nullable CelestialObject sun, @Nullable CelestialObject moon,
 			ICCoordinates coordinate, IAtmosphereEffect sky) {
@@ -75,10 +78,10 @@ public class CelestialHelperSimple implements ICelestialHelper {
 	 */
 	@Override
 	public float getSunHeightFactor(float partialTicks) {
-		SpCoord sunCoord = ViewUtil.transformToHor(this.coordinate, this.sky, sun.getCurrentPos());
-		if(this.sun != null)
+		if(this.sun != null) {
+			SpCoord sunCoord = ViewUtil.transformToHor(this.coordinate, this.sky, sun.getCurrentPos());
 			return (float) Math.sin(Math.toRadians(sunCoord.y));
-		else return 0.0f;
+		} else return 0.0f;
 	}
 
 	/**
@@ -192,4 +195,50 @@ public class CelestialHelperSimple implements ICelestialHelper {
 		return sky.minimumSkyRenderBrightness();
 	}
 
+	/**
+	 * Gets lighting state, calculated once for each time.
+	 * <p>
+	 * The sun is projected to the horizontal coordinate only once here, while
+	 * each factor method does it on its own.
+	 */
+	@Override
+	public SkyLightingState getLightingState(long worldTime, float partialTicks) {
+		SkyLightingState state = this.lastState;
+		if(state == null || !state.isFor(worldTime, partialTicks)) {
+			state = this.calculateLightingState(worldTime, partialTicks);
+			this.lastState = state;
+		}
+		return state;
+	}
+
+	private SkyLightingState calculateLightingState(long worldTime, float partialTicks) {
+		float sunHeight = this.getSunHeightFactor(partialTicks);
+		float[] sunlight = new float[4];
+		float[] sunriseSunset = new float[4];
+		float[] dispersion = new float[4];
+		float[] pollution = new float[4];
+
+		float sunlightRenderBrightness = 0.0f;
+		if(this.sun != null) {
+			float sunlightHeight = MathHelper.clamp(2.0f * sunHeight + 0.5f, 0.0f, 1.0f);
+			for(EnumRGBA color : EnumRGBA.values()) {
+				float brightness = (float) sun.getCurrentBrightness(Wavelength.colorWaveMap.get(color));
+				sunlight[color.ordinal()] = sunlightHeight * brightness * this.relativeMultiplierSun;
+				sunriseSunset[color.ordinal()] = brightness * this.relativeMultiplierSun;
+			}
+
+			sunlightRenderBrightness = MathHelper.clamp(2.0f * sunHeight + 0.2f, 0.0f, 1.0f)
+					* sunriseSunset[EnumRGBA.Alpha.ordinal()];
+		}
+
+		for(EnumRGBA color : EnumRGBA.values()) {
+			dispersion[color.ordinal()] = this.getDispersionFactor(color, partialTicks);
+			pollution[color.ordinal()] = this.getLightPollutionFactor(color, partialTicks);
+		}
+
+		return new SkyLightingState(worldTime, partialTicks, sunHeight, sunlightRenderBrightness,
+				this.getSkyTransmissionFactor(partialTicks), this.minimumSkyRenderBrightness(),
+				sunlight, sunriseSunset, dispersion, pollution);
+	}
+
 }
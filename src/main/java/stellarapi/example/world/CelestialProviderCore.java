@@ -0,0 +1,249 @@
+package stellarapi.example.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraftforge.client.ForgeHooksClient;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import stellarapi.api.optics.EnumRGBA;
+import stellarapi.api.world.ICelestialHelper;
+import stellarapi.api.world.SkyLightingState;
+
+/**
+ * Celestial part of the example world providers.
+ * <p>
+ * Providers delegate the sky related methods here, so that the lighting
+ * calculations are shared by all of them.
+ */
+public class CelestialProviderCore {
+
+	private final World world;
+	private final ICelestialHelper celestialHelper;
+
+	/** Array for sunrise/sunset colors (RGBA) */
+	private float[] colorsSunriseSunset = new float[4];
+
+	private long cloudColour = 16777215L;
+
+	/** Sampler for light pollution, only created on client */
+	private LightPollutionSampler pollutionSampler;
+
+	public CelestialProviderCore(World world, ICelestialHelper celestialHelper) {
+		this.world = world;
+		this.celestialHelper = celestialHelper;
+	}
+
+	public float calculateCelestialAngle(long worldTime, float partialTicks) {
+		return celestialHelper.calculateCelestialAngle(worldTime, partialTicks);
+	}
+
+	public float getSunHeight(float partialTicks) {
+		return this.getLightingState(partialTicks).getSunHeight();
+	}
+
+	public SkyLightingState getLightingState(float partialTicks) {
+		return celestialHelper.getLightingState(world.getWorldTime(), partialTicks);
+	}
+
+	@SideOnly(Side.CLIENT)
+	public float getSunBrightness(float par1) {
+		SkyLightingState state = this.getLightingState(par1);
+		float f2 = (state.getSunlightRenderBrightness());
+		f2 *= state.getSkyTransmission();
+		f2 = (float) ((double) f2 * (1.0D - (double) (world.getRainStrength(par1) * 5.0F) / 16.0D));
+		f2 = (float) ((double) f2 * (1.0D - (double) (world.getThunderStrength(par1) * 5.0F) / 16.0D));
+		return f2 + state.getMinimumSkyRenderBrightness() * (1.0f - f2);
+	}
+
+	public float getSunBrightnessFactor(float par1) {
+		SkyLightingState state = this.getLightingState(par1);
+		float f1 = state.getSunlight(EnumRGBA.Alpha)
+				* state.getSkyTransmission();
+		f1 = (float) ((double) f1 * (1.0D - (double) (world.getRainStrength(par1) * 5.0F) / 16.0D));
+		f1 = (float) ((double) f1 * (1.0D - (double) (world.getThunderStrength(par1) * 5.0F) / 16.0D));
+		return f1;
+	}
+
+	public int getMoonPhase(long par1) {
+		return celestialHelper.getCurrentMoonPhase(par1);
+	}
+
+	public float getCurrentMoonPhaseFactor() {
+		return celestialHelper.getCurrentMoonPhaseFactor();
+	}
+
+	/**
+	 * Returns array with sunrise/sunset colors
+	 */
+	@SideOnly(Side.CLIENT)
+	public float[] calcSunriseSunsetColors(float p_76560_1_, float p_76560_2_) {
+		SkyLightingState state = this.getLightingState(p_76560_2_);
+		float f2 = 0.4F;
+		float f3 = state.getSunHeight();
+		float f4 = -0.0F;
+
+		if (f3 >= f4 - f2 && f3 <= f4 + f2) {
+			float f5 = (f3 - f4) / f2 * 0.5F + 0.5F;
+			float f6 = 1.0f - 3.0f * Math.abs(f3);
+			f6 *= f6;
+			this.colorsSunriseSunset[0] = f5 * 0.3F + 0.7F;
+			this.colorsSunriseSunset[1] = f5 * f5 * 0.7F + 0.2F;
+			this.colorsSunriseSunset[2] = f5 * f5 * 0.0F + 0.2F;
+			this.colorsSunriseSunset[3] = f6;
+
+			for (EnumRGBA color : EnumRGBA.RGB)
+				this.colorsSunriseSunset[color.ordinal()] = this.colorsSunriseSunset[color.ordinal()]
+						* state.getSunriseSunset(color)
+						* state.getDispersion(color);
+
+			return this.colorsSunriseSunset;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Return Vec3D with biome specific fog color
+	 */
+	@SideOnly(Side.CLIENT)
+	public Vec3d getFogColor(float p_76562_1_, float p_76562_2_) {
+		SkyLightingState state = this.getLightingState(p_76562_2_);
+		float f3 = 0.7529412F;
+		float f4 = 0.84705883F;
+		float f5 = 1.0F;
+		f3 *= state.getSunlight(EnumRGBA.Red)
+				* state.getDispersion(EnumRGBA.Red) * 0.94F + 0.06F;
+		f4 *= state.getSunlight(EnumRGBA.Green)
+				* state.getDispersion(EnumRGBA.Green) * 0.94F + 0.06F;
+		f5 *= state.getSunlight(EnumRGBA.Blue)
+				* state.getDispersion(EnumRGBA.Blue) * 0.91F + 0.09F;
+
+		return new Vec3d((double) f3, (double) f4, (double) f5);
+	}
+
+	@SideOnly(Side.CLIENT)
+	public Vec3d getSkyColor(Entity cameraEntity, float partialTicks) {
+		SkyLightingState state = this.getLightingState(partialTicks);
+		int i = MathHelper.floor(cameraEntity.posX);
+		int j = MathHelper.floor(cameraEntity.posY);
+		int k = MathHelper.floor(cameraEntity.posZ);
+		BlockPos blockpos = new BlockPos(i, j, k);
+
+		float mixedBrightness = this.getMixedBrightnessOn(cameraEntity.posX, cameraEntity.posY, cameraEntity.posZ);
+		// Regional light pollution adds to the local one, scattered the same way
+		float pollution = mixedBrightness
+				+ LightPollutionMap.get(this.world).getPollution(this.world, cameraEntity.posX, cameraEntity.posZ);
+
+		int l = ForgeHooksClient.getSkyBlendColour(this.world, blockpos);
+		float f4 = (float) (l >> 16 & 255) / 255.0F * state.getDispersion(EnumRGBA.Red);
+		float f5 = (float) (l >> 8 & 255) / 255.0F * state.getDispersion(EnumRGBA.Green);
+		float f6 = (float) (l & 255) / 255.0F * state.getDispersion(EnumRGBA.Blue);
+
+		f4 *= (state.getSunlight(EnumRGBA.Red)
+				+ pollution * state.getLightPollution(EnumRGBA.Red));
+		f5 *= (state.getSunlight(EnumRGBA.Green)
+				+ pollution * state.getLightPollution(EnumRGBA.Green));
+		f6 *= (state.getSunlight(EnumRGBA.Blue)
+				+ pollution * state.getLightPollution(EnumRGBA.Blue));
+
+		float f7 = world.getRainStrength(partialTicks);
+		float f8;
+		float f9;
+
+		if (f7 > 0.0F) {
+			f8 = (f4 * 0.3F + f5 * 0.59F + f6 * 0.11F) * 0.6F;
+			f9 = 1.0F - f7 * 0.75F;
+			f4 = f4 * f9 + f8 * (1.0F - f9);
+			f5 = f5 * f9 + f8 * (1.0F - f9);
+			f6 = f6 * f9 + f8 * (1.0F - f9);
+		}
+
+		f8 = world.getThunderStrength(partialTicks);
+
+		if (f8 > 0.0F) {
+			f9 = (f4 * 0.3F + f5 * 0.59F + f6 * 0.11F) * 0.2F;
+			float f10 = 1.0F - f8 * 0.75F;
+			f4 = f4 * f10 + f9 * (1.0F - f10);
+			f5 = f5 * f10 + f9 * (1.0F - f10);
+			f6 = f6 * f10 + f9 * (1.0F - f10);
+		}
+
+		if (world.getLastLightningBolt() > 0) {
+			f9 = (float) world.getLastLightningBolt() - partialTicks;
+
+			if (f9 > 1.0F) {
+				f9 = 1.0F;
+			}
+
+			f9 *= 0.45F;
+			f4 = f4 * (1.0F - f9) + 0.8F * f9;
+			f5 = f5 * (1.0F - f9) + 0.8F * f9;
+			f6 = f6 * (1.0F - f9) + 1.0F * f9;
+		}
+
+		return new Vec3d((double) f4, (double) f5, (double) f6);
+	}
+
+	public float getMixedBrightnessOn(double posX, double posY, double posZ) {
+		if (this.pollutionSampler == null)
+			this.pollutionSampler = LightPollutionSampler.get(this.world);
+		return pollutionSampler.getMixedBrightnessOn(this.world, posX, posY, posZ);
+	}
+
+	@SideOnly(Side.CLIENT)
+	public Vec3d getCloudColor(float partialTicks) {
+		SkyLightingState state = this.getLightingState(partialTicks);
+		float f3 = (float) (this.cloudColour >> 16 & 255L) / 255.0F;
+		float f4 = (float) (this.cloudColour >> 8 & 255L) / 255.0F;
+		float f5 = (float) (this.cloudColour & 255L) / 255.0F;
+		float f6 = world.getRainStrength(partialTicks);
+		float f7;
+		float f8;
+
+		if (f6 > 0.0F) {
+			f7 = (f3 * 0.3F + f4 * 0.59F + f5 * 0.11F) * 0.6F;
+			f8 = 1.0F - f6 * 0.95F;
+			f3 = f3 * f8 + f7 * (1.0F - f8);
+			f4 = f4 * f8 + f7 * (1.0F - f8);
+			f5 = f5 * f8 + f7 * (1.0F - f8);
+		}
+
+		f3 *= state.getSunlight(EnumRGBA.Red)
+				* state.getDispersion(EnumRGBA.Red) * 0.9F + 0.1F;
+		f4 *= state.getSunlight(EnumRGBA.Green)
+				* state.getDispersion(EnumRGBA.Green) * 0.9F + 0.1F;
+		f5 *= state.getSunlight(EnumRGBA.Blue)
+				* state.getDispersion(EnumRGBA.Blue) * 0.85F + 0.15F;
+		f7 = world.getThunderStrength(partialTicks);
+
+		if (f7 > 0.0F) {
+			f8 = (f3 * 0.3F + f4 * 0.59F + f5 * 0.11F) * 0.2F;
+			float f9 = 1.0F - f7 * 0.95F;
+			f3 = f3 * f9 + f8 * (1.0F - f9);
+			f4 = f4 * f9 + f8 * (1.0F - f9);
+			f5 = f5 * f9 + f8 * (1.0F - f9);
+		}
+
+		return new Vec3d((double) f3, (double) f4, (double) f5);
+	}
+
+	@SideOnly(Side.CLIENT)
+	public float getStarBrightness(float par1) {
+		SkyLightingState state = this.getLightingState(par1);
+		float f2 = 1.0F - (state.getSunlightRenderBrightness()
+				* state.getDispersion(EnumRGBA.Alpha));
+
+		if (f2 < 0.0F) {
+			f2 = 0.0F;
+		}
+
+		if (f2 > 1.0F) {
+			f2 = 1.0F;
+		}
+
+		return f2 * f2 * 0.5F;
+	}
+}
@@ -0,0 +1,189 @@
+package stellarapi.example.world;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Regional light pollution of a dimension, aggregated from block light on
+ * each chunk column.
+ * <p>
+ * Each loaded chunk gets the mean block light on the top of its columns, i.e.
+ * on the height map, so that only light sources which can see the sky count.
+ * Chunks are measured again a few at a time after the world notifies changes
+ * on them, and count as dark once they are unloaded. The value on a position is smoothed over the chunks around it,
+ * and calculated again only when the camera moves to another chunk or a chunk
+ * around it changes, so that a lit city glows on the sky nearby.
+ */
+public class LightPollutionMap extends WorldEventAdapter {
+	private static final int RADIUS = 4;
+	private static final int WIDTH = 2 * RADIUS + 1;
+	private static final int MEASURES_PER_QUERY = 2;
+	private static final int PRUNE_SIZE = 4096;
+	private static final int PRUNE_DISTANCE = 16;
+
+	/** Brightness of fully lit region, in the scale of block brightness */
+	private static final float FULL_BRIGHTNESS = 15 * 0.005f;
+
+	private static final float[] KERNEL = new float[WIDTH * WIDTH];
+
+	static {
+		float sum = 0.0f;
+		for (int i = 0; i < WIDTH; i++)
+			for (int j = 0; j < WIDTH; j++)
+				sum += KERNEL[i * WIDTH + j] = (float) Math.exp(
+						-((i - RADIUS) * (i - RADIUS) + (j - RADIUS) * (j - RADIUS)) / (0.5 * RADIUS * RADIUS));
+		for (int i = 0; i < KERNEL.length; i++)
+			KERNEL[i] /= sum;
+	}
+
+	private static final Map<World, LightPollutionMap> maps = new WeakHashMap<>();
+
+	private final Map<Long, Float> chunkValues = Maps.newHashMap();
+	private final Set<Long> dirtyChunks = Sets.newLinkedHashSet();
+
+	private int version = 0;
+	private int cachedVersion = -1;
+	private int cachedX, cachedZ;
+	private float cachedValue;
+
+	private LightPollutionMap() {
+	}
+
+	/**
+	 * Gets the map for certain world, registering it as a listener to the
+	 * world on first call.
+	 */
+	public static LightPollutionMap get(World world) {
+		LightPollutionMap map = maps.get(world);
+		if (map == null) {
+			map = new LightPollutionMap();
+			world.addEventListener(map);
+			maps.put(world, map);
+		}
+		return map;
+	}
+
+	/**
+	 * Zeroes the value of an unloaded chunk, instead of keeping it until
+	 * pruned. The chunk is measured again when it is loaded back.
+	 */
+	public static void onChunkUnload(Chunk chunk) {
+		LightPollutionMap map = maps.get(chunk.getWorld());
+		if (map != null)
+			map.zero(ChunkPos.asLong(chunk.x, chunk.z));
+	}
+
+	private void zero(long key) {
+		dirtyChunks.remove(key);
+		Float previous = chunkValues.put(key, 0.0f);
+		if (previous == null || previous.floatValue() != 0.0f)
+			this.version++;
+	}
+
+	/**
+	 * Gets the regional light pollution around certain position, in the same
+	 * scale as {@link LightPollutionSampler}.
+	 * 
+	 * @param world
+	 *            the world of this map
+	 */
+	public float getPollution(World world, double posX, double posZ) {
+		this.measureDirty(world);
+
+		int chunkX = (int) Math.floor(posX) >> 4;
+		int chunkZ = (int) Math.floor(posZ) >> 4;
+		if (this.cachedVersion != this.version || chunkX != this.cachedX || chunkZ != this.cachedZ) {
+			if (chunkValues.size() > PRUNE_SIZE)
+				this.prune(chunkX, chunkZ);
+			this.cachedValue = this.smooth(chunkX, chunkZ) * FULL_BRIGHTNESS;
+			this.cachedVersion = this.version;
+			this.cachedX = chunkX;
+			this.cachedZ = chunkZ;
+		}
+		return this.cachedValue;
+	}
+
+	private float smooth(int chunkX, int chunkZ) {
+		float value = 0.0f;
+		for (int i = 0; i < WIDTH; i++) {
+			for (int j = 0; j < WIDTH; j++) {
+				long key = ChunkPos.asLong(chunkX + i - RADIUS, chunkZ + j - RADIUS);
+				Float chunkValue = chunkValues.get(key);
+				if (chunkValue != null)
+					value += KERNEL[i * WIDTH + j] * chunkValue;
+				else
+					// Measured on later queries
+					dirtyChunks.add(key);
+			}
+		}
+		return value;
+	}
+
+	private void measureDirty(World world) {
+		Iterator<Long> ite = dirtyChunks.iterator();
+		for (int count = 0; count < MEASURES_PER_QUERY && ite.hasNext(); count++) {
+			long key = ite.next();
+			ite.remove();
+
+			// Chunks not loaded yet count as dark, until they are loaded
+			Chunk chunk = world.getChunkProvider().getLoadedChunk((int) key, (int) (key >> 32));
+			float value = chunk != null ? measure(chunk) : 0.0f;
+			Float previous = chunkValues.put(key, value);
+			if (previous == null || previous.floatValue() != value)
+				this.version++;
+		}
+	}
+
+	private void prune(int chunkX, int chunkZ) {
+		Iterator<Long> ite = chunkValues.keySet().iterator();
+		while (ite.hasNext()) {
+			long key = ite.next();
+			if (Math.abs((int) key - chunkX) > PRUNE_DISTANCE || Math.abs((int) (key >> 32) - chunkZ) > PRUNE_DISTANCE)
+				ite.remove();
+		}
+	}
+
+	/**
+	 * Mean block light on the height map of the chunk, in [0, 1].
+	 */
+	private static float measure(Chunk chunk) {
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		long sum = 0;
+		for (int x = 0; x < 16; x++) {
+			for (int z = 0; z < 16; z++) {
+				// Lowest block which can see the sky on the column
+				int height = chunk.getHeightValue(x, z);
+				if (height < chunk.getWorld().getHeight())
+					sum += chunk.getLightFor(EnumSkyBlock.BLOCK, pos.setPos(x, height, z));
+			}
+		}
+		return sum / (256 * 15.0f);
+	}
+
+	private void markDirty(int chunkX, int chunkZ) {
+		dirtyChunks.add(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	@Override
+	public void notifyLightSet(BlockPos pos) {
+		this.markDirty(pos.getX() >> 4, pos.getZ() >> 4);
+	}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+		for (int chunkX = x1 >> 4; chunkX <= x2 >> 4; chunkX++)
+			for (int chunkZ = z1 >> 4; chunkZ <= z2 >> 4; chunkZ++)
+				this.markDirty(chunkX, chunkZ);
+	}
+}
@@ -0,0 +1,128 @@
+package stellarapi.example.world;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Samples block light around the camera for light pollution on the sky.
+ * <p>
+ * Keeps a small grid of sampled values, indexed by block coordinates modulo
+ * the grid size, so that only the cells newly entered by the camera are
+ * sampled again. Cells are invalidated when the world notifies light or block
+ * changes on them.
+ */
+public class LightPollutionSampler extends WorldEventAdapter {
+	private static final int SIZE = 4;
+	private static final int MASK = SIZE - 1;
+
+	// One sampler per world, as providers can be replaced while the world stays
+	private static final Map<World, LightPollutionSampler> samplers = new WeakHashMap<>();
+
+	private final int[] cellX = new int[SIZE * SIZE * SIZE];
+	private final int[] cellY = new int[SIZE * SIZE * SIZE];
+	private final int[] cellZ = new int[SIZE * SIZE * SIZE];
+	private final float[] values = new float[SIZE * SIZE * SIZE];
+	private final boolean[] valid = new boolean[SIZE * SIZE * SIZE];
+
+	private final BlockPos.MutableBlockPos samplePos = new BlockPos.MutableBlockPos();
+
+	private LightPollutionSampler() {
+	}
+
+	/**
+	 * Gets the sampler for certain world, registering it as a listener to the
+	 * world on first call.
+	 */
+	public static LightPollutionSampler get(World world) {
+		LightPollutionSampler sampler = samplers.get(world);
+		if (sampler == null) {
+			sampler = new LightPollutionSampler();
+			world.addEventListener(sampler);
+			samplers.put(world, sampler);
+		}
+		return sampler;
+	}
+
+	/**
+	 * Gets the block light mixed around certain position, interpolating on
+	 * each axis.
+	 * 
+	 * @param world
+	 *            the world of this sampler
+	 */
+	public float getMixedBrightnessOn(World world, double posX, double posY, double posZ) {
+		int i = (int) Math.floor(posX);
+		int j = (int) Math.floor(posY);
+		int k = (int) Math.floor(posZ);
+
+		float center = this.getBrightness(world, i, j, k);
+		double mixed = 0;
+		mixed += (posX - i) * this.getBrightness(world, i + 1, j, k) + (i + 1 - posX) * center;
+		mixed += (posY - j) * this.getBrightness(world, i, j + 1, k) + (j + 1 - posY) * center;
+		mixed += (posZ - k) * this.getBrightness(world, i, j, k + 1) + (k + 1 - posZ) * center;
+		return (float) mixed * 0.33f;
+	}
+
+	private float getBrightness(World world, int x, int y, int z) {
+		int index = index(x, y, z);
+		if (!valid[index] || cellX[index] != x || cellY[index] != y || cellZ[index] != z) {
+			cellX[index] = x;
+			cellY[index] = y;
+			cellZ[index] = z;
+			values[index] = this.sample(world, samplePos.setPos(x, y, z));
+			valid[index] = true;
+		}
+		return values[index];
+	}
+
+	@SuppressWarnings("deprecation")
+	private float sample(World world, BlockPos pos) {
+		IBlockState state = world.getBlockState(pos);
+		return (((state.getBlock().getPackedLightmapCoords(state, world, pos) & 0xff)) >> 4) * 0.005f;
+	}
+
+	private static int index(int x, int y, int z) {
+		return ((x & MASK) * SIZE + (y & MASK)) * SIZE + (z & MASK);
+	}
+
+	private void invalidate(int x1, int y1, int z1, int x2, int y2, int z2) {
+		for (int index = 0; index < values.length; index++)
+			if (valid[index] && x1 <= cellX[index] && cellX[index] <= x2 && y1 <= cellY[index]
+					&& cellY[index] <= y2 && z1 <= cellZ[index] && cellZ[index] <= z2)
+				valid[index] = false;
+	}
+
+	private void invalidateAround(BlockPos pos) {
+		// Packed light of a block depends on its neighbors
+		this.invalidate(pos.getX() - 1, pos.getY() - 1, pos.getZ() - 1, pos.getX() + 1, pos.getY() + 1,
+				pos.getZ() + 1);
+	}
+
+	/**
+	 * Invalidates all the sampled values.
+	 */
+	public void invalidateAll() {
+		Arrays.fill(this.valid, false);
+	}
+
+	@Override
+	public void notifyLightSet(BlockPos pos) {
+		this.invalidateAround(pos);
+	}
+
+	@Override
+	public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState,
+			int flags) {
+		this.invalidateAround(pos);
+	}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+		this.invalidate(x1 - 1, y1 - 1, z1 - 1, x2 + 1, y2 + 1, z2 + 1);
+	}
+}
@@ -1,11 +1,9 @@
 package stellarapi.example.world;
 
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.World;
@@ -16,231 +14,81 @@ import net.minecraft.world.border.WorldBorder;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.end.DragonFightManager;
 import net.minecraft.world.gen.IChunkGenerator;
-import net.minecraftforge.client.ForgeHooksClient;
 import net.minecraftforge.client.IRenderHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import stellarapi.api.optics.EnumRGBA;
 import stellarapi.api.world.ICelestialHelper;
 
 public class WorldProviderRepEnd extends WorldProviderEnd {
 	private WorldProviderEnd parProvider;
-	private ICelestialHelper celestialHelper;
-			
-	private long cloudColour = 16777215L;
-	
+	private CelestialProviderCore core;
+
 	public WorldProviderRepEnd(World world, WorldProviderEnd provider, ICelestialHelper celestialHelper) {
 		this.parProvider = provider;
 		this.world = world;
-		this.celestialHelper = celestialHelper;
+		this.core = new CelestialProviderCore(world, celestialHelper);
 	}
-	
+
 	@Override
-    public float calculateCelestialAngle(long worldTime, float partialTicks) {
-		return celestialHelper.calculateCelestialAngle(worldTime, partialTicks);
-    }
-	
+	public float calculateCelestialAngle(long worldTime, float partialTicks) {
+		return core.calculateCelestialAngle(worldTime, partialTicks);
+	}
+
 	public float getSunHeight(float partialTicks) {
-    	return celestialHelper.getSunHeightFactor(partialTicks);
+		return core.getSunHeight(partialTicks);
 	}
-    
-    @Override
-    @SideOnly(Side.CLIENT)
-    public float getSunBrightness(float par1) {
-        float f2 = (celestialHelper.getSunlightRenderBrightnessFactor(par1));
-        f2 *= celestialHelper.getSkyTransmissionFactor(par1);
-        f2 = (float)((double)f2 * (1.0D - (double)(world.getRainStrength(par1) * 5.0F) / 16.0D));
-        f2 = (float)((double)f2 * (1.0D - (double)(world.getThunderStrength(par1) * 5.0F) / 16.0D));
-        return f2 + celestialHelper.minimumSkyRenderBrightness() * (1.0f - f2);
-    }
-	
+
 	@Override
-	public float getSunBrightnessFactor(float par1) {
-        float f1 = celestialHelper.getSunlightFactor(EnumRGBA.Alpha, par1) * celestialHelper.getSkyTransmissionFactor(par1);
-        f1 = (float)((double)f1 * (1.0D - (double)(world.getRainStrength(par1) * 5.0F) / 16.0D));
-        f1 = (float)((double)f1 * (1.0D - (double)(world.getThunderStrength(par1) * 5.0F) / 16.0D));
-        return f1;
+	@SideOnly(Side.CLIENT)
+	public float getSunBrightness(float par1) {
+		return core.getSunBrightness(par1);
 	}
-	
-	/**
-     * Returns array with sunrise/sunset colors
-     */
-    @SideOnly(Side.CLIENT)
-    @Override
-    public float[] calcSunriseSunsetColors(float p_76560_1_, float p_76560_2_)
-    {
-        return null;
-    }
-
-    /**
-     * Return Vec3D with biome specific fog color
-     */
-    @SideOnly(Side.CLIENT)
-    @Override
-    public Vec3d getFogColor(float p_76562_1_, float p_76562_2_)
-    {
-    	float f3 = 0.7529412F;
-		float f4 = 0.84705883F;
-		float f5 = 1.0F;
-		f3 *= celestialHelper.getSunlightFactor(EnumRGBA.Red, p_76562_2_)
-				* celestialHelper.getDispersionFactor(EnumRGBA.Red, p_76562_2_) * 0.94F + 0.06F;
-		f4 *= celestialHelper.getSunlightFactor(EnumRGBA.Green, p_76562_2_)
-				* celestialHelper.getDispersionFactor(EnumRGBA.Green, p_76562_2_) * 0.94F + 0.06F;
-		f5 *= celestialHelper.getSunlightFactor(EnumRGBA.Blue, p_76562_2_)
-				* celestialHelper.getDispersionFactor(EnumRGBA.Blue, p_76562_2_) * 0.91F + 0.09F;
 
-		return new Vec3d((double) f3, (double) f4, (double) f5);
-    }
+	@Override
+	public float getSunBrightnessFactor(float par1) {
+		return core.getSunBrightnessFactor(par1);
+	}
 
 	@Override
-    public int getMoonPhase(long par1) {
-    	return celestialHelper.getCurrentMoonPhase(par1);
-    }
-	
+	public int getMoonPhase(long par1) {
+		return core.getMoonPhase(par1);
+	}
+
 	@Override
 	public float getCurrentMoonPhaseFactor() {
-    	return celestialHelper.getCurrentMoonPhaseFactor();
+		return core.getCurrentMoonPhaseFactor();
 	}
 
-    @Override
-    @SideOnly(Side.CLIENT)
-    public Vec3d getSkyColor(Entity cameraEntity, float partialTicks)
-    {
-		int i = MathHelper.floor(cameraEntity.posX);
-		int j = MathHelper.floor(cameraEntity.posY);
-		int k = MathHelper.floor(cameraEntity.posZ);
-		BlockPos blockpos = new BlockPos(i, j, k);
-
-		float mixedBrightness = this.getMixedBrightnessOn(cameraEntity.posX, cameraEntity.posY, cameraEntity.posZ,
-				i, j, k);
-
-		int l = ForgeHooksClient.getSkyBlendColour(this.world, blockpos);
-		float f4 = (float) (l >> 16 & 255) / 255.0F * celestialHelper.getDispersionFactor(EnumRGBA.Red, partialTicks);
-		float f5 = (float) (l >> 8 & 255) / 255.0F * celestialHelper.getDispersionFactor(EnumRGBA.Green, partialTicks);
-		float f6 = (float) (l & 255) / 255.0F * celestialHelper.getDispersionFactor(EnumRGBA.Blue, partialTicks);
-
-		f4 *= (celestialHelper.getSunlightFactor(EnumRGBA.Red, partialTicks)
-				+ mixedBrightness * celestialHelper.getLightPollutionFactor(EnumRGBA.Red, partialTicks));
-		f5 *= (celestialHelper.getSunlightFactor(EnumRGBA.Green, partialTicks)
-				+ mixedBrightness * celestialHelper.getLightPollutionFactor(EnumRGBA.Green, partialTicks));
-		f6 *= (celestialHelper.getSunlightFactor(EnumRGBA.Blue, partialTicks)
-				+ mixedBrightness * celestialHelper.getLightPollutionFactor(EnumRGBA.Blue, partialTicks));
-
-		float f7 = world.getRainStrength(partialTicks);
-		float f8;
-		float f9;
-
-		if (f7 > 0.0F) {
-			f8 = (f4 * 0.3F + f5 * 0.59F + f6 * 0.11F) * 0.6F;
-			f9 = 1.0F - f7 * 0.75F;
-			f4 = f4 * f9 + f8 * (1.0F - f9);
-			f5 = f5 * f9 + f8 * (1.0F - f9);
-			f6 = f6 * f9 + f8 * (1.0F - f9);
-		}
-
-		f8 = world.getThunderStrength(partialTicks);
-
-		if (f8 > 0.0F) {
-			f9 = (f4 * 0.3F + f5 * 0.59F + f6 * 0.11F) * 0.2F;
-			float f10 = 1.0F - f8 * 0.75F;
-			f4 = f4 * f10 + f9 * (1.0F - f10);
-			f5 = f5 * f10 + f9 * (1.0F - f10);
-			f6 = f6 * f10 + f9 * (1.0F - f10);
-		}
-
-		if (world.getLastLightningBolt() > 0) {
-			f9 = (float) world.getLastLightningBolt() - partialTicks;
-
-			if (f9 > 1.0F) {
-				f9 = 1.0F;
-			}
-
-			f9 *= 0.45F;
-			f4 = f4 * (1.0F - f9) + 0.8F * f9;
-			f5 = f5 * (1.0F - f9) + 0.8F * f9;
-			f6 = f6 * (1.0F - f9) + 1.0F * f9;
-		}
-
-		return new Vec3d((double) f4, (double) f5, (double) f6);
-    }
-    
-    public float getMixedBrightnessOn(double posX, double posY, double posZ, int i, int j, int k) {
-    	double f2 = 0;
-        f2 += (posX-i)* this.getMixedBrightnessOnBlock(i+1, j, k);
-        f2 += (i+1-posX)* this.getMixedBrightnessOnBlock(i, j, k);
-        f2 += (posY-j)* this.getMixedBrightnessOnBlock(i, j+1, k);
-        f2 += (j+1-posY)* this.getMixedBrightnessOnBlock(i, j, k);
-        f2 += (posZ-k)* this.getMixedBrightnessOnBlock(i, j, k+1);
-        f2 += (k+1-posZ)* this.getMixedBrightnessOnBlock(i, j, k);
-        return (float)f2 * 0.33f;
-    }
-    
-    public float getMixedBrightnessOnBlock(int i, int j, int k) {
-    	BlockPos pos = new BlockPos(i, j, k);
-    	IBlockState state = world.getBlockState(pos);
-    	return ((state.getPackedLightmapCoords(this.world, pos) & 0xff)>>4) * 0.005f;
-    }
+	@SideOnly(Side.CLIENT)
+	@Override
+	public float[] calcSunriseSunsetColors(float p_76560_1_, float p_76560_2_) {
+		return null;
+	}
 
-    @Override
-    @SideOnly(Side.CLIENT)
-    public Vec3d getCloudColor(float partialTicks)
-    {
-        float f3 = (float)(this.cloudColour >> 16 & 255L) / 255.0F;
-        float f4 = (float)(this.cloudColour >> 8 & 255L) / 255.0F;
-        float f5 = (float)(this.cloudColour & 255L) / 255.0F;
-        float f6 = world.getRainStrength(partialTicks);
-        float f7;
-        float f8;
-
-        if (f6 > 0.0F)
-        {
-            f7 = (f3 * 0.3F + f4 * 0.59F + f5 * 0.11F) * 0.6F;
-            f8 = 1.0F - f6 * 0.95F;
-            f3 = f3 * f8 + f7 * (1.0F - f8);
-            f4 = f4 * f8 + f7 * (1.0F - f8);
-            f5 = f5 * f8 + f7 * (1.0F - f8);
-        }
-
-        f3 *= celestialHelper.getSunlightFactor(EnumRGBA.Red, partialTicks)
-        		* celestialHelper.getDispersionFactor(EnumRGBA.Red, partialTicks) * 0.9F + 0.1F;
-        f4 *= celestialHelper.getSunlightFactor(EnumRGBA.Green, partialTicks)
-        		* celestialHelper.getDispersionFactor(EnumRGBA.Green, partialTicks) * 0.9F + 0.1F;
-        f5 *= celestialHelper.getSunlightFactor(EnumRGBA.Blue, partialTicks)
-        		* celestialHelper.getDispersionFactor(EnumRGBA.Blue, partialTicks) * 0.85F + 0.15F;
-        f7 = world.getThunderStrength(partialTicks);
-
-        if (f7 > 0.0F)
-        {
-            float f10 = (f3 * 0.3F + f4 * 0.59F + f5 * 0.11F) * 0.2F;
-            f8 = 1.0F - f7 * 0.95F;
-            f3 = f3 * f8 + f10 * (1.0F - f8);
-            f4 = f4 * f8 + f10 * (1.0F - f8);
-            f5 = f5 * f8 + f10 * (1.0F - f8);
-        }
-
-        return new Vec3d((double)f3, (double)f4, (double)f5);
-    }
+	@SideOnly(Side.CLIENT)
+	@Override
+	public Vec3d getFogColor(float p_76562_1_, float p_76562_2_) {
+		return core.getFogColor(p_76562_1_, p_76562_2_);
+	}
 
-    @Override
-    @SideOnly(Side.CLIENT)
-    public float getStarBrightness(float par1)
-    {
-        float f2 = 1.0F - (celestialHelper.getSunlightRenderBrightnessFactor( par1)
-        		* celestialHelper.getDispersionFactor(EnumRGBA.Alpha, par1));
+	@Override
+	@SideOnly(Side.CLIENT)
+	public Vec3d getSkyColor(Entity cameraEntity, float partialTicks) {
+		return core.getSkyColor(cameraEntity, partialTicks);
+	}
 
-        if (f2 < 0.0F)
-        {
-            f2 = 0.0F;
-        }
+	@Override
+	@SideOnly(Side.CLIENT)
+	public Vec3d getCloudColor(float partialTicks) {
+		return core.getCloudColor(partialTicks);
+	}
 
-        if (f2 > 1.0F)
-        {
-            f2 = 1.0F;
-        }
+	@Override
+	@SideOnly(Side.CLIENT)
+	public float getStarBrightness(float par1) {
+		return core.getStarBrightness(par1);
+	}
 
-        return f2 * f2 * 0.5F;
-    }
-    
     @SideOnly(Side.CLIENT)
     public IRenderHandler getSkyRenderer() {
     	return parProvider.getSkyRenderer();
@@ -1,5 +1,7 @@
 package stellarapi.feature.celestial.tweakable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 
 import org.lwjgl.opengl.GL11;
@@ -12,7 +14,9 @@ import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.RenderGlobal;
 import net.minecraft.client.renderer.Tessellator;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
 import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.world.World;
 import net.minecraftforge.client.IRenderHandler;
 import net.minecraftforge.fml.relauncher.ReflectionHelper;
 import net.minecraftforge.fml.relauncher.Side;
@@ -24,19 +28,48 @@ public class SAPIRendererCommon extends IAdaptiveRenderer {
 
 	private SAPICelestialScene scene;
 	private IRenderHandler otherRenderer;
+	private final SAPISkyPipeline pipeline = new SAPISkyPipeline();
 
-	private static Field skyVBOField = ReflectionHelper.findField(RenderGlobal.class, "skyVBO", "field_175012_t");
-	private static Field sky2VBOField = ReflectionHelper.findField(RenderGlobal.class, "sky2VBO", "field_175011_u");
-	private static Field glSkyListField = ReflectionHelper.findField(RenderGlobal.class, "glSkyList", "field_72771_w");
-	private static Field glSkyList2Field = ReflectionHelper.findField(RenderGlobal.class, "glSkyList2", "field_72781_x");
+	private static final MethodHandle getSkyVBO, setSkyVBO, getSky2VBO, setSky2VBO, getStarVBO, setStarVBO;
+	private static final MethodHandle getSkyList, setSkyList, getSkyList2, setSkyList2, getStarList, setStarList;
+	private static final MethodHandle getTessBuffer, setTessBuffer;
 
-	private static Field starVBOField = ReflectionHelper.findField(RenderGlobal.class, "starVBO", "field_175013_s");
-	private static Field glStarListField = ReflectionHelper.findField(RenderGlobal.class, "starGLCallList", "field_72772_v");
-
-	private static Field vertexBufferField = ReflectionHelper.findField(Tessellator.class, "buffer", "field_178183_a");
+	static {
+		try {
+			Field skyVBOField = ReflectionHelper.findField(RenderGlobal.class, "skyVBO", "field_175012_t");
+			Field sky2VBOField = ReflectionHelper.findField(RenderGlobal.class, "sky2VBO", "field_175011_u");
+			Field glSkyListField = ReflectionHelper.findField(RenderGlobal.class, "glSkyList", "field_72771_w");
+			Field glSkyList2Field = ReflectionHelper.findField(RenderGlobal.class, "glSkyList2", "field_72781_x");
+
+			Field starVBOField = ReflectionHelper.findField(RenderGlobal.class, "starVBO", "field_175013_s");
+			Field glStarListField = ReflectionHelper.findField(RenderGlobal.class, "starGLCallList", "field_72772_v");
+
+			Field vertexBufferField = ReflectionHelper.findField(Tessellator.class, "buffer", "field_178183_a");
+
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			getSkyVBO = lookup.unreflectGetter(skyVBOField);
+			setSkyVBO = lookup.unreflectSetter(skyVBOField);
+			getSky2VBO = lookup.unreflectGetter(sky2VBOField);
+			setSky2VBO = lookup.unreflectSetter(sky2VBOField);
+			getStarVBO = lookup.unreflectGetter(starVBOField);
+			setStarVBO = lookup.unreflectSetter(starVBOField);
+
+			getSkyList = lookup.unreflectGetter(glSkyListField);
+			setSkyList = lookup.unreflectSetter(glSkyListField);
+			getSkyList2 = lookup.unreflectGetter(glSkyList2Field);
+			setSkyList2 = lookup.unreflectSetter(glSkyList2Field);
+			getStarList = lookup.unreflectGetter(glStarListField);
+			setStarList = lookup.unreflectSetter(glStarListField);
+
+			getTessBuffer = lookup.unreflectGetter(vertexBufferField);
+			setTessBuffer = lookup.unreflectSetter(vertexBufferField);
+		} catch (IllegalAccessException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
 
 	private static int skyList, skyList2, starList;
-	private static net.minecraft.client.renderer.vertex.VertexBuffer skyVBO, sky2VBO, starVBO;
+	private static VertexBuffer skyVBO, sky2VBO, starVBO;
 	private static BufferBuilder placeholder, placeholder2;
 
 	static {
@@ -55,19 +88,19 @@ public class SAPIRendererCommon extends IAdaptiveRenderer {
 		GlStateManager.glNewList(starList, 4864);
 		GlStateManager.glEndList();
 
-		skyVBO = new net.minecraft.client.renderer.vertex.VertexBuffer(DefaultVertexFormats.POSITION);
+		skyVBO = new VertexBuffer(DefaultVertexFormats.POSITION);
 		vertexbuffer.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION);
 		vertexbuffer.finishDrawing();
 		vertexbuffer.reset();
 		skyVBO.bufferData(vertexbuffer.getByteBuffer());
 
-		sky2VBO = new net.minecraft.client.renderer.vertex.VertexBuffer(DefaultVertexFormats.POSITION);
+		sky2VBO = new VertexBuffer(DefaultVertexFormats.POSITION);
 		vertexbuffer.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION);
 		vertexbuffer.finishDrawing();
 		vertexbuffer.reset();
 		sky2VBO.bufferData(vertexbuffer.getByteBuffer());
 
-		starVBO =  new net.minecraft.client.renderer.vertex.VertexBuffer(DefaultVertexFormats.POSITION);
+		starVBO =  new VertexBuffer(DefaultVertexFormats.POSITION);
 		vertexbuffer.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION);
 		vertexbuffer.finishDrawing();
 		vertexbuffer.reset();
@@ -75,16 +108,6 @@ public class SAPIRendererCommon extends IAdaptiveRenderer {
 
 		placeholder = new BufferBuilderPlaceholder(32768, GL11.GL_TRIANGLE_FAN, DefaultVertexFormats.POSITION_COLOR);
 		placeholder2 = new BufferBuilderPlaceholder(32768, GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX);
-
-		skyVBOField.setAccessible(true);
-		sky2VBOField.setAccessible(true);
-		starVBOField.setAccessible(true);
-
-		glSkyListField.setAccessible(true);
-		glSkyList2Field.setAccessible(true);
-		glStarListField.setAccessible(true);
-
-		vertexBufferField.setAccessible(true);
 	}
 
 	public SAPIRendererCommon(SAPICelestialScene scene) {
@@ -96,32 +119,62 @@ public class SAPIRendererCommon extends IAdaptiveRenderer {
 		this.otherRenderer = handler;
 	}
 
+	@Override
+	public void onRemoved(World world) {
+		if(world.provider.getSkyRenderer() == this)
+			world.provider.setSkyRenderer(this.otherRenderer);
+		SAPISkyPipeline.deleteMeshes();
+		pipeline.deleteStars();
+	}
+
+	/**
+	 * Deletes the meshes shared by the pipelines, which are uploaded again
+	 * on the next render. Called on resource reload.
+	 */
+	public static void deleteSharedMeshes() {
+		SAPISkyPipeline.deleteMeshes();
+	}
+
 	@Override
 	public void render(float partialTicks, WorldClient world, Minecraft mc) {
+		if(this.otherRenderer == null && world.provider.isSurfaceWorld()) {
+			pipeline.render(partialTicks, world, mc, scene.latitude);
+			this.postRenderPlanets(partialTicks, world, mc);
+		} else this.renderTwoPass(partialTicks, world, mc);
+	}
+
+	/**
+	 * Renders the sky of the replaced renderer twice,
+	 * the second time only with celestial bodies under the latitude rotation.
+	 * Used when the sky can't be rendered with {@link SAPISkyPipeline}.
+	 */
+	private void renderTwoPass(float partialTicks, WorldClient world, Minecraft mc) {
 		RenderGlobal renderGlobal = mc.renderGlobal;
 
+		Tessellator tessellator = Tessellator.getInstance();
+
 		try {
-			net.minecraft.client.renderer.vertex.VertexBuffer sky1 = (net.minecraft.client.renderer.vertex.VertexBuffer)skyVBOField.get(renderGlobal);
-			net.minecraft.client.renderer.vertex.VertexBuffer sky2 = (net.minecraft.client.renderer.vertex.VertexBuffer)sky2VBOField.get(renderGlobal);
-			net.minecraft.client.renderer.vertex.VertexBuffer star = (net.minecraft.client.renderer.vertex.VertexBuffer)starVBOField.get(renderGlobal);
-			int sky1id = (Integer)glSkyListField.get(renderGlobal);
-			int sky2id = (Integer)glSkyList2Field.get(renderGlobal);
-			int starid = (Integer)glStarListField.get(renderGlobal);
+			VertexBuffer sky1 = (VertexBuffer) getSkyVBO.invokeExact(renderGlobal);
+			VertexBuffer sky2 = (VertexBuffer) getSky2VBO.invokeExact(renderGlobal);
+			VertexBuffer star = (VertexBuffer) getStarVBO.invokeExact(renderGlobal);
+			int sky1id = (int) getSkyList.invokeExact(renderGlobal);
+			int sky2id = (int) getSkyList2.invokeExact(renderGlobal);
+			int starid = (int) getStarList.invokeExact(renderGlobal);
 
-			BufferBuilder buffer = (BufferBuilder)vertexBufferField.get(Tessellator.getInstance());
+			BufferBuilder buffer = (BufferBuilder) getTessBuffer.invokeExact(tessellator);
 
-			vertexBufferField.set(Tessellator.getInstance(), placeholder2);
+			setTessBuffer.invokeExact(tessellator, placeholder2);
 
 			this.preRenderPlanets(partialTicks, world, mc);
 
-			skyVBOField.set(renderGlobal, skyVBO);
-			sky2VBOField.set(renderGlobal, sky2VBO);
-			starVBOField.set(renderGlobal, starVBO);
-			glSkyListField.set(renderGlobal, skyList);
-			glSkyList2Field.set(renderGlobal, skyList2);
-			glStarListField.set(renderGlobal, starList);
+			setSkyVBO.invokeExact(renderGlobal, skyVBO);
+			setSky2VBO.invokeExact(renderGlobal, sky2VBO);
+			setStarVBO.invokeExact(renderGlobal, starVBO);
+			setSkyList.invokeExact(renderGlobal, skyList);
+			setSkyList2.invokeExact(renderGlobal, skyList2);
+			setStarList.invokeExact(renderGlobal, starList);
 
-			vertexBufferField.set(Tessellator.getInstance(), placeholder);
+			setTessBuffer.invokeExact(tessellator, placeholder);
 
 			GlStateManager.pushMatrix();
 			GlStateManager.rotate((float)scene.latitude, 1.0f, 0.0f, 0.0f);
@@ -135,17 +188,17 @@ public class SAPIRendererCommon extends IAdaptiveRenderer {
 			}
 			GlStateManager.popMatrix();
 
-			skyVBOField.set(renderGlobal, sky1);
-			sky2VBOField.set(renderGlobal, sky2);
-			starVBOField.set(renderGlobal, star);
-			glSkyListField.set(renderGlobal, sky1id);
-			glSkyList2Field.set(renderGlobal, sky2id);
-			glStarListField.set(renderGlobal, starid);
+			setSkyVBO.invokeExact(renderGlobal, sky1);
+			setSky2VBO.invokeExact(renderGlobal, sky2);
+			setStarVBO.invokeExact(renderGlobal, star);
+			setSkyList.invokeExact(renderGlobal, sky1id);
+			setSkyList2.invokeExact(renderGlobal, sky2id);
+			setStarList.invokeExact(renderGlobal, starid);
 
-			vertexBufferField.set(Tessellator.getInstance(), buffer);
+			setTessBuffer.invokeExact(tessellator, buffer);
 
 			this.postRenderPlanets(partialTicks, world, mc);
-		} catch (Exception exc) {
+		} catch (Throwable exc) {
 			throw new RuntimeException(exc);
 		}
 	}
@@ -0,0 +1,311 @@
+package stellarapi.feature.celestial.tweakable;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL14;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import stellarapi.api.SAPIReferences;
+import stellarapi.lib.render.SkyGeometry;
+import stellarapi.lib.render.StarCatalog;
+import stellarapi.lib.render.StarFieldBuilder;
+
+/**
+ * Renders the overworld-like sky in a single pass,
+ * with celestial sphere tilted by the latitude.
+ * Vertices come from {@link SkyGeometry}.
+ */
+@SideOnly(Side.CLIENT)
+class SAPISkyPipeline {
+
+	private static final ResourceLocation SUN_TEXTURES = new ResourceLocation("textures/environment/sun.png");
+	private static final ResourceLocation MOON_PHASES_TEXTURES = new ResourceLocation("textures/environment/moon_phases.png");
+
+	private static final long STAR_SEED = 10842L;
+	private static final int STAR_COUNT = 1500;
+	private static final float FAINTEST_STAR = 6.5f;
+	private static final float NAKED_EYE_LIMIT = 6.0f;
+
+	/** Meshes shared by all pipelines, built on the first render after deletion. */
+	private static StaticMesh skyMesh, sky2Mesh;
+
+	/** Star field of this pipeline, uploaded again only when the limiting magnitude changes. */
+	private StarFieldBuilder starField;
+	private VertexBuffer starVBO;
+
+	/** Buffer for the geometry which changes each frame. */
+	private static final ByteBuffer dynamic = GLAllocation.createDirectByteBuffer(
+			Math.max(SkyGeometry.FAN_VERTICES * SkyGeometry.POSITION_COLOR_SIZE,
+					SkyGeometry.BODY_VERTICES * SkyGeometry.POSITION_TEX_SIZE));
+
+	private static void setupMeshes() {
+		if(skyMesh != null)
+			return;
+
+		ByteBuffer sky = GLAllocation.createDirectByteBuffer(SkyGeometry.PLANE_VERTICES * SkyGeometry.POSITION_SIZE);
+		SkyGeometry.putSkyPlane(sky, 16.0f, false);
+		skyMesh = new StaticMesh(sky);
+
+		ByteBuffer sky2 = GLAllocation.createDirectByteBuffer(SkyGeometry.PLANE_VERTICES * SkyGeometry.POSITION_SIZE);
+		SkyGeometry.putSkyPlane(sky2, -16.0f, true);
+		sky2Mesh = new StaticMesh(sky2);
+	}
+
+	private void setupStars() {
+		if(this.starField != null)
+			return;
+
+		this.starField = new StarFieldBuilder(StarCatalog.random(STAR_SEED, STAR_COUNT, FAINTEST_STAR));
+		if(OpenGlHelper.useVbo())
+			this.starVBO = new VertexBuffer(DefaultVertexFormats.POSITION_COLOR);
+	}
+
+	/**
+	 * Deletes the meshes, so that they're uploaded again on the next render.
+	 */
+	static void deleteMeshes() {
+		if(skyMesh == null)
+			return;
+
+		skyMesh.delete();
+		sky2Mesh.delete();
+		skyMesh = sky2Mesh = null;
+	}
+
+	/**
+	 * Deletes the star field of this pipeline, which is built again on the next render.
+	 */
+	void deleteStars() {
+		if(this.starVBO != null)
+			starVBO.deleteGlBuffers();
+		this.starVBO = null;
+		this.starField = null;
+	}
+
+	/**
+	 * Limiting magnitude for the viewer, fainter by 5 magnitude for each
+	 * tenfold magnification, up to the faintest star in the catalog.
+	 * Quantized to avoid rebuilding on each FOV step.
+	 */
+	private static float limitingMagnitude(Entity viewer) {
+		float multPower = SAPIReferences.getOpticalProfile(viewer).getMultiplyingPower();
+		float limit = NAKED_EYE_LIMIT - 5.0f * (float) Math.log10(Math.min(1.0f, multPower));
+		return Math.min(FAINTEST_STAR, Math.round(limit * 4.0f) / 4.0f);
+	}
+
+	private void drawStars(Entity viewer, float brightness) {
+		if(starField.setLimitingMagnitude(limitingMagnitude(viewer)) && starVBO != null)
+			starVBO.bufferData(starField.getBuffer());
+
+		// Stars carry their brightness on the color, so the overall one goes to the blend
+		GL14.glBlendColor(brightness, brightness, brightness, brightness);
+		GlStateManager.blendFunc(GlStateManager.SourceFactor.CONSTANT_COLOR, GlStateManager.DestFactor.ONE);
+
+		if(starVBO != null) {
+			GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+			GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+			starVBO.bindBuffer();
+			GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, SkyGeometry.POSITION_COLOR_SIZE, 0);
+			GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, SkyGeometry.POSITION_COLOR_SIZE, 12);
+			starVBO.drawArrays(GL11.GL_QUADS);
+			starVBO.unbindBuffer();
+			GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+			GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+			GlStateManager.resetColor();
+		} else drawPositionColor(starField.getBuffer(), GL11.GL_QUADS);
+
+		GL14.glBlendColor(0.0f, 0.0f, 0.0f, 0.0f);
+		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA,
+				GlStateManager.DestFactor.ONE,
+				GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+	}
+
+	public void render(float partialTicks, WorldClient world, Minecraft mc, double latitude) {
+		setupMeshes();
+		this.setupStars();
+
+		// *** Sky Dome *** //
+		GlStateManager.disableTexture2D();
+		Vec3d skyColor = world.getSkyColor(mc.getRenderViewEntity(), partialTicks);
+		float red = (float) skyColor.x;
+		float green = (float) skyColor.y;
+		float blue = (float) skyColor.z;
+
+		GlStateManager.color(red, green, blue);
+		GlStateManager.depthMask(false);
+		GlStateManager.enableFog();
+		skyMesh.draw(GL11.GL_QUADS);
+
+		GlStateManager.disableFog();
+		GlStateManager.disableAlpha();
+		GlStateManager.enableBlend();
+		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA,
+				GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA,
+				GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+		RenderHelper.disableStandardItemLighting();
+
+		// *** Sunrise *** //
+		float[] sunrise = world.provider.calcSunriseSunsetColors(world.getCelestialAngle(partialTicks), partialTicks);
+		if(sunrise != null) {
+			GlStateManager.shadeModel(GL11.GL_SMOOTH);
+			GlStateManager.pushMatrix();
+			GlStateManager.rotate(90.0f, 1.0f, 0.0f, 0.0f);
+			GlStateManager.rotate(MathHelper.sin(world.getCelestialAngleRadians(partialTicks)) < 0.0f ? 180.0f : 0.0f,
+					0.0f, 0.0f, 1.0f);
+			GlStateManager.rotate(90.0f, 0.0f, 0.0f, 1.0f);
+
+			dynamic.clear();
+			SkyGeometry.putSunriseFan(dynamic, sunrise);
+			dynamic.flip();
+			drawPositionColor(dynamic, GL11.GL_TRIANGLE_FAN);
+
+			GlStateManager.popMatrix();
+			GlStateManager.shadeModel(GL11.GL_FLAT);
+		}
+
+		// *** Celestial Sphere *** //
+		GlStateManager.enableTexture2D();
+		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA,
+				GlStateManager.DestFactor.ONE,
+				GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+		GlStateManager.pushMatrix();
+		float rainAlpha = 1.0f - world.getRainStrength(partialTicks);
+		GlStateManager.color(1.0f, 1.0f, 1.0f, rainAlpha);
+		GlStateManager.rotate((float) latitude, 1.0f, 0.0f, 0.0f);
+		GlStateManager.rotate(-90.0f, 0.0f, 1.0f, 0.0f);
+		GlStateManager.rotate(world.getCelestialAngle(partialTicks) * 360.0f, 1.0f, 0.0f, 0.0f);
+
+		mc.renderEngine.bindTexture(SUN_TEXTURES);
+		dynamic.clear();
+		SkyGeometry.putBody(dynamic, 100.0f, 30.0f, 0.0f, 0.0f, 1.0f, 1.0f);
+		dynamic.flip();
+		drawPositionTex(dynamic, GL11.GL_QUADS);
+
+		mc.renderEngine.bindTexture(MOON_PHASES_TEXTURES);
+		int phase = world.getMoonPhase();
+		int column = phase % 4;
+		int row = phase / 4 % 2;
+		dynamic.clear();
+		SkyGeometry.putBody(dynamic, -100.0f, 20.0f,
+				(column + 1) / 4.0f, (row + 1) / 2.0f, column / 4.0f, row / 2.0f);
+		dynamic.flip();
+		drawPositionTex(dynamic, GL11.GL_QUADS);
+
+		GlStateManager.disableTexture2D();
+		float starBrightness = world.getStarBrightness(partialTicks) * rainAlpha;
+		if(starBrightness > 0.0f)
+			this.drawStars(mc.getRenderViewEntity(), starBrightness);
+
+		GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
+		GlStateManager.disableBlend();
+		GlStateManager.enableAlpha();
+		GlStateManager.enableFog();
+		GlStateManager.popMatrix();
+
+		// *** Below Horizon *** //
+		GlStateManager.disableTexture2D();
+		GlStateManager.color(0.0f, 0.0f, 0.0f);
+		double belowHorizon = mc.player.getPositionEyes(partialTicks).y - world.getHorizon();
+
+		if(belowHorizon < 0.0) {
+			GlStateManager.pushMatrix();
+			GlStateManager.translate(0.0f, 12.0f, 0.0f);
+			sky2Mesh.draw(GL11.GL_QUADS);
+			GlStateManager.popMatrix();
+		}
+
+		if(world.provider.isSkyColored())
+			GlStateManager.color(red * 0.2f + 0.04f, green * 0.2f + 0.04f, blue * 0.6f + 0.1f);
+		else GlStateManager.color(red, green, blue);
+
+		GlStateManager.pushMatrix();
+		GlStateManager.translate(0.0f, -((float) (belowHorizon - 16.0)), 0.0f);
+		sky2Mesh.draw(GL11.GL_QUADS);
+		GlStateManager.popMatrix();
+
+		GlStateManager.enableTexture2D();
+		GlStateManager.depthMask(true);
+	}
+
+	// *** Drawing *** //
+
+	private static void drawPositionColor(ByteBuffer data, int mode) {
+		GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+		data.position(0);
+		GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, SkyGeometry.POSITION_COLOR_SIZE, data);
+		data.position(12);
+		GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, SkyGeometry.POSITION_COLOR_SIZE, data);
+		data.position(0);
+		GlStateManager.glDrawArrays(mode, 0, data.limit() / SkyGeometry.POSITION_COLOR_SIZE);
+		GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		// Color array leaves the current color undefined
+		GlStateManager.resetColor();
+	}
+
+	private static void drawPositionTex(ByteBuffer data, int mode) {
+		GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		data.position(0);
+		GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, SkyGeometry.POSITION_TEX_SIZE, data);
+		data.position(12);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_FLOAT, SkyGeometry.POSITION_TEX_SIZE, data);
+		data.position(0);
+		GlStateManager.glDrawArrays(mode, 0, data.limit() / SkyGeometry.POSITION_TEX_SIZE);
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+	}
+
+	/**
+	 * Geometry in <code>POSITION</code> which is uploaded once,
+	 * or drawn from client memory when VBO is unavailable.
+	 */
+	private static class StaticMesh {
+		private final ByteBuffer data;
+		private final VertexBuffer vbo;
+
+		StaticMesh(ByteBuffer data) {
+			data.flip();
+			this.data = data;
+			if(OpenGlHelper.useVbo()) {
+				this.vbo = new VertexBuffer(DefaultVertexFormats.POSITION);
+				vbo.bufferData(data);
+			} else this.vbo = null;
+		}
+
+		void draw(int mode) {
+			GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+			if(this.vbo != null) {
+				vbo.bindBuffer();
+				GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, SkyGeometry.POSITION_SIZE, 0);
+				vbo.drawArrays(mode);
+				vbo.unbindBuffer();
+			} else {
+				data.position(0);
+				GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, SkyGeometry.POSITION_SIZE, this.data);
+				GlStateManager.glDrawArrays(mode, 0, data.limit() / SkyGeometry.POSITION_SIZE);
+			}
+			GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		}
+
+		void delete() {
+			if(this.vbo != null)
+				vbo.deleteGlBuffers();
+		}
+	}
+}
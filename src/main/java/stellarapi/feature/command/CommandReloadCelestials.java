@@ -0,0 +1,37 @@
+package stellarapi.feature.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import stellarapi.StellarAPI;
+import stellarapi.reference.CelestialPackManager;
+
+/**
+ * Reloads the celestial packs from the configuration without restarting the worlds.
+ */
+public class CommandReloadCelestials extends CommandBase {
+
+	@Override
+	public String getName() {
+		return "reloadcelestials";
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 2;
+	}
+
+	@Override
+	public String getUsage(ICommandSender sender) {
+		return "command.reloadcelestials.usage";
+	}
+
+	@Override
+	public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+		StellarAPI.INSTANCE.getCfgManager().syncFromFile();
+		CelestialPackManager.reloadAll(server);
+		notifyCommandListener(sender, this, "command.reloadcelestials.success");
+	}
+
+}
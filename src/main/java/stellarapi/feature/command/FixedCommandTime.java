@@ -7,12 +7,11 @@ import net.minecraft.command.ICommandSender;
 import net.minecraft.command.WrongUsageException;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldServer;
 import stellarapi.api.CelestialPeriod;
 import stellarapi.api.PeriodHelper;
 import stellarapi.api.SAPIReferences;
-import stellarapi.api.daywake.DaytimeChecker;
 import stellarapi.api.daywake.EnumDaytimeDescriptor;
+import stellarapi.api.daywake.TimeSkipService;
 
 public class FixedCommandTime extends CommandTime {
 
@@ -20,26 +19,27 @@ public class FixedCommandTime extends CommandTime {
 	public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
 		if (args.length > 1) {
 			if (args[0].equals("set")) {
-				long i1;
+				TimeSkipService service = SAPIReferences.getTimeSkipService();
 
+				// Each world with its own time is set with its own daytime schedule.
 				if (args[1].equals("day")) {
-					i1 = this.getDay(sender.getEntityWorld());
+					service.skipToDescriptor(server, EnumDaytimeDescriptor.MORNING, 1000L);
 				} else if (args[1].equals("night")) {
-					i1 = this.getNight(sender.getEntityWorld());
+					service.skipToDescriptor(server, EnumDaytimeDescriptor.EVENING, 13000L);
 				} else if (this.getDescriptor(args[1]) != null) {
-					i1 = this.getTime(sender.getEntityWorld(), this.getDescriptor(args[1]));
+					service.skipToDescriptor(server, this.getDescriptor(args[1]), 0L);
 				} else {
-					i1 = parseInt(args[1], 0);
+					service.setAllWorldTimes(server, parseInt(args[1], 0));
 				}
 
-				this.setAllWorldTimes(server, i1);
+				long i1 = sender.getEntityWorld().getWorldTime();
 				notifyCommandListener(sender, this, "commands.time.set", new Object[] { Long.valueOf(i1) });
 				return;
 			}
 
 			if (args[0].equals("add")) {
 				int l = parseInt(args[1], 0);
-				this.incrementAllWorldTimes(server, l);
+				SAPIReferences.getTimeSkipService().incrementAllWorldTimes(server, l);
 				notifyCommandListener(sender, this, "commands.time.added", new Object[] { Integer.valueOf(l) });
 				return;
 			}
@@ -71,47 +71,15 @@ public class FixedCommandTime extends CommandTime {
 		throw new WrongUsageException("commands.time.usage", new Object[0]);
 	}
 
-	protected void setAllWorldTimes(MinecraftServer server, long time) {
-		for (int i = 0; i < server.worlds.length; ++i) {
-			server.worlds[i].setWorldTime(time);
-		}
-	}
-
-	protected void incrementAllWorldTimes(MinecraftServer server, long amount) {
-		for (int i = 0; i < server.worlds.length; ++i) {
-			WorldServer worldserver = server.worlds[i];
-			worldserver.setWorldTime(worldserver.getWorldTime() + amount);
-		}
-	}
-
-	public long getDay(World world) {
-		long defaultValue = 1000L;
-
-		DaytimeChecker checker = SAPIReferences.getDaytimeChecker();
-		return checker.timeForCertainDescriptor(world, EnumDaytimeDescriptor.MORNING, defaultValue);
-	}
-
-	public long getNight(World world) {
-		long defaultValue = 13000L;
-
-		DaytimeChecker checker = SAPIReferences.getDaytimeChecker();
-		return checker.timeForCertainDescriptor(world, EnumDaytimeDescriptor.EVENING, defaultValue);
-	}
-	
 	public EnumDaytimeDescriptor getDescriptor(String str) {
 		for(EnumDaytimeDescriptor desc : EnumDaytimeDescriptor.values()) {
-			if(str.toUpperCase().equals(desc.name().toLowerCase()))
+			if(str.toUpperCase().equals(desc.name()))
 				return desc;
 		}
 		
 		return null;
 	}
 	
-	public long getTime(World world, EnumDaytimeDescriptor descriptor) {
-		DaytimeChecker checker = SAPIReferences.getDaytimeChecker();
-		return checker.timeForCertainDescriptor(world, descriptor, 0);
-	}
-
 	public int getDayTime(World world) {
 		CelestialPeriod period = PeriodHelper.getDayPeriod(world);
 		if (period != null) {
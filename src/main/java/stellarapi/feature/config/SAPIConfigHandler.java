@@ -27,7 +27,6 @@ public class SAPIConfigHandler implements IConfigHandler {
 	public void setupConfig(Configuration config, String category) {
 		config.setCategoryComment(category, "Configure world settings for each worldsets.");
 		config.setCategoryLanguageKey(category, "config.category.worldsettings");
-		config.setCategoryRequiresWorldRestart(category, true);
 
 		Property forceChange = config.get(category, "Force_Config", false);
 		forceChange.setComment("Set this to true to force configuration change to the existing world"
@@ -0,0 +1,46 @@
+package stellarapi.feature.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import stellarapi.StellarAPI;
+
+/**
+ * Content hash of the pack settings on the server.
+ * The client requests the settings only when it doesn't hold the settings with the hash.
+ */
+public class MessagePackSettingsHash implements IMessage {
+	private int dimension;
+	private long hash;
+
+	public MessagePackSettingsHash() { }
+
+	public MessagePackSettingsHash(int dimension, long hash) {
+		this.dimension = dimension;
+		this.hash = hash;
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		this.dimension = buf.readInt();
+		this.hash = buf.readLong();
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		buf.writeInt(this.dimension);
+		buf.writeLong(this.hash);
+	}
+
+	public static class MessagePackHashHandler implements IMessageHandler<MessagePackSettingsHash, IMessage> {
+		@Override
+		public IMessage onMessage(MessagePackSettingsHash message, MessageContext ctx) {
+			StellarAPI.PROXY.registerTask(() -> StellarAPI.INSTANCE.getNetworkManager()
+					.onReceivePackHash(message.dimension, message.hash));
+
+			return null;
+		}
+	}
+
+}
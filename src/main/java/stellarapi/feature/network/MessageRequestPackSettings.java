@@ -0,0 +1,48 @@
+package stellarapi.feature.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import stellarapi.StellarAPI;
+
+/**
+ * Request from the client for the pack settings,
+ * with the hash of the settings it knows to be used as the delta base.
+ */
+public class MessageRequestPackSettings implements IMessage {
+	private int dimension;
+	private long knownHash;
+
+	public MessageRequestPackSettings() { }
+
+	public MessageRequestPackSettings(int dimension, long knownHash) {
+		this.dimension = dimension;
+		this.knownHash = knownHash;
+	}
+
+	@Override
+	public void fromBytes(ByteBuf buf) {
+		this.dimension = buf.readInt();
+		this.knownHash = buf.readLong();
+	}
+
+	@Override
+	public void toBytes(ByteBuf buf) {
+		buf.writeInt(this.dimension);
+		buf.writeLong(this.knownHash);
+	}
+
+	public static class MessageRequestPackHandler implements IMessageHandler<MessageRequestPackSettings, IMessage> {
+		@Override
+		public IMessage onMessage(MessageRequestPackSettings message, MessageContext ctx) {
+			EntityPlayerMP player = ctx.getServerHandler().player;
+			player.getServerWorld().addScheduledTask(() -> StellarAPI.INSTANCE.getNetworkManager()
+					.onRequestPackSettings(player, message.dimension, message.knownHash));
+
+			return null;
+		}
+	}
+
+}
@@ -2,52 +2,67 @@ package stellarapi.feature.network;
 
 import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import stellarapi.StellarAPI;
-import stellarapi.api.SAPICapabilities;
-import stellarapi.api.SAPIReferences;
-import stellarapi.api.pack.ICelestialScene;
-import stellarapi.api.world.ICelestialWorld;
-import stellarapi.reference.CelestialPackManager;
 
+/**
+ * Pack settings, either full or delta-encoded against the settings the client already knows.
+ * Sent only when the hash from {@link MessagePackSettingsHash} didn't match on the client.
+ */
 public class MessageSyncPackSettings implements IMessage {
-	private String packName;
+	private int dimension;
+	private long hash;
+	private boolean isDelta;
+	private long baseHash;
 	private NBTTagCompound compoundInfo;
 
 	public MessageSyncPackSettings() { }
 
-	public MessageSyncPackSettings(String packName, ICelestialScene scene) {
-		this.packName = packName;
-		this.compoundInfo = scene.serializeNBT();
+	public MessageSyncPackSettings(int dimension, long hash, NBTTagCompound settings) {
+		this.dimension = dimension;
+		this.hash = hash;
+		this.isDelta = false;
+		this.compoundInfo = settings;
+	}
+
+	public MessageSyncPackSettings(int dimension, long hash, long baseHash, NBTTagCompound delta) {
+		this.dimension = dimension;
+		this.hash = hash;
+		this.isDelta = true;
+		this.baseHash = baseHash;
+		this.compoundInfo = delta;
 	}
 
 	@Override
 	public void fromBytes(ByteBuf buf) {
-		this.packName = ByteBufUtils.readUTF8String(buf);
-		this.compoundInfo = ByteBufUtils.readTag(buf);
+		this.dimension = buf.readInt();
+		this.hash = buf.readLong();
+		this.isDelta = buf.readBoolean();
+		if(this.isDelta)
+			this.baseHash = buf.readLong();
+		this.compoundInfo = PackSettingsCodec.readCompressed(buf);
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf) {
-		ByteBufUtils.writeUTF8String(buf, this.packName);
-		ByteBufUtils.writeTag(buf, this.compoundInfo);
+		buf.writeInt(this.dimension);
+		buf.writeLong(this.hash);
+		buf.writeBoolean(this.isDelta);
+		if(this.isDelta)
+			buf.writeLong(this.baseHash);
+		PackSettingsCodec.writeCompressed(buf, this.compoundInfo);
 	}
 
 	public static class MessageSyncPackHandler implements IMessageHandler<MessageSyncPackSettings, IMessage> {
 		@Override
 		public IMessage onMessage(MessageSyncPackSettings message, MessageContext ctx) {
 			StellarAPI.PROXY.registerTask(() -> {
-				World world = SAPIReferences.getDefaultWorld(true);
-				ICelestialWorld cWorld = world.getCapability(SAPICapabilities.CELESTIAL_CAPABILITY, null);
-				if(cWorld instanceof CelestialPackManager) {
-					CelestialPackManager manager = (CelestialPackManager) cWorld;
-					manager.readFromPacket(message.packName, message.compoundInfo);
-					manager.setupWorld();
-				}
+				StellarAPINetworkManager manager = StellarAPI.INSTANCE.getNetworkManager();
+				if(message.isDelta)
+					manager.onReceivePackDelta(message.dimension, message.hash, message.baseHash, message.compoundInfo);
+				else manager.onReceivePackSettings(message.dimension, message.hash, message.compoundInfo);
 			});
 
 			return null;
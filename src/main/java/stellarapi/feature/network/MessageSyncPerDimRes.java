@@ -11,21 +11,31 @@ import stellarapi.feature.perdimres.PerDimensionResourceData;
 
 public class MessageSyncPerDimRes implements IMessage {
 	private NBTTagCompound compoundInfo;
+	private boolean onlyChanges;
 
 	public MessageSyncPerDimRes() {
 	}
 
-	public MessageSyncPerDimRes(NBTTagCompound commonInfo) {
+	/**
+	 * @param commonInfo
+	 *            the full resource map, or the put/remove operations
+	 * @param onlyChanges
+	 *            whether the info only contains the changes
+	 */
+	public MessageSyncPerDimRes(NBTTagCompound commonInfo, boolean onlyChanges) {
 		this.compoundInfo = commonInfo;
+		this.onlyChanges = onlyChanges;
 	}
 
 	@Override
 	public void fromBytes(ByteBuf buf) {
+		this.onlyChanges = buf.readBoolean();
 		this.compoundInfo = ByteBufUtils.readTag(buf);
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf) {
+		buf.writeBoolean(this.onlyChanges);
 		ByteBufUtils.writeTag(buf, this.compoundInfo);
 	}
 
@@ -37,7 +47,10 @@ public class MessageSyncPerDimRes implements IMessage {
 				@Override
 				public void run() {
 					PerDimensionResourceData data = PerDimensionResourceData.getData(StellarAPI.PROXY.getClientWorld());
-					data.readFromNBT(message.compoundInfo);
+					if (message.onlyChanges)
+						data.readChanges(message.compoundInfo);
+					else
+						data.readFromNBT(message.compoundInfo);
 				}
 			});
 
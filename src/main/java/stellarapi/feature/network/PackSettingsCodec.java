@@ -0,0 +1,125 @@
+package stellarapi.feature.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+/**
+ * Hashing, delta encoding and compression for pack settings synchronization.
+ */
+public final class PackSettingsCodec {
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private PackSettingsCodec() { }
+
+	/**
+	 * Calculates 64-bit content hash of the settings.
+	 * Keys are visited in sorted order, so the hash doesn't depend on the map order.
+	 * */
+	public static long hash(NBTTagCompound settings) {
+		return hash(FNV_OFFSET, settings);
+	}
+
+	private static long hash(long hash, NBTBase tag) {
+		hash = hashByte(hash, tag.getId());
+		if(tag instanceof NBTTagCompound) {
+			NBTTagCompound compound = (NBTTagCompound) tag;
+			for(String key : Sets.newTreeSet(compound.getKeySet())) {
+				hash = hashString(hash, key);
+				hash = hash(hash, compound.getTag(key));
+			}
+		} else if(tag instanceof NBTTagList) {
+			NBTTagList list = (NBTTagList) tag;
+			for(int i = 0; i < list.tagCount(); i++)
+				hash = hash(hash, list.get(i));
+		} else hash = hashString(hash, tag.toString());
+		return hash;
+	}
+
+	private static long hashString(long hash, String str) {
+		for(byte b : str.getBytes(StandardCharsets.UTF_8))
+			hash = hashByte(hash, b);
+		// Separator to distinguish concatenated strings
+		return hashByte(hash, 0);
+	}
+
+	private static long hashByte(long hash, int b) {
+		return (hash ^ (b & 0xff)) * FNV_PRIME;
+	}
+
+	/**
+	 * Calculates delta from the base settings to the target settings.
+	 * Only the top-level keys are compared.
+	 * */
+	public static NBTTagCompound diff(NBTTagCompound base, NBTTagCompound target) {
+		NBTTagCompound changed = new NBTTagCompound();
+		for(String key : target.getKeySet()) {
+			NBTBase value = target.getTag(key);
+			if(!value.equals(base.getTag(key)))
+				changed.setTag(key, value.copy());
+		}
+
+		NBTTagList removed = new NBTTagList();
+		Set<String> removedKeys = Sets.difference(base.getKeySet(), target.getKeySet());
+		for(String key : removedKeys)
+			removed.appendTag(new NBTTagString(key));
+
+		NBTTagCompound delta = new NBTTagCompound();
+		delta.setTag("Set", changed);
+		delta.setTag("Removed", removed);
+		return delta;
+	}
+
+	/**
+	 * Applies delta on the base settings.
+	 * @return the patched copy of the base settings
+	 * */
+	public static NBTTagCompound patch(NBTTagCompound base, NBTTagCompound delta) {
+		NBTTagCompound result = base.copy();
+		NBTTagList removed = delta.getTagList("Removed", Constants.NBT.TAG_STRING);
+		for(int i = 0; i < removed.tagCount(); i++)
+			result.removeTag(removed.getStringTagAt(i));
+		NBTTagCompound changed = delta.getCompoundTag("Set");
+		for(String key : changed.getKeySet())
+			result.setTag(key, changed.getTag(key).copy());
+		return result;
+	}
+
+	public static void writeCompressed(ByteBuf buf, NBTTagCompound compound) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			CompressedStreamTools.writeCompressed(compound, output);
+		} catch (IOException exception) {
+			throw new RuntimeException(exception);
+		}
+
+		byte[] bytes = output.toByteArray();
+		ByteBufUtils.writeVarInt(buf, bytes.length, 5);
+		buf.writeBytes(bytes);
+	}
+
+	public static NBTTagCompound readCompressed(ByteBuf buf) {
+		byte[] bytes = new byte[ByteBufUtils.readVarInt(buf, 5)];
+		buf.readBytes(bytes);
+		try {
+			return CompressedStreamTools.readCompressed(new ByteArrayInputStream(bytes));
+		} catch (IOException exception) {
+			throw new RuntimeException(exception);
+		}
+	}
+}
@@ -1,17 +1,25 @@
 package stellarapi.feature.network;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 import net.minecraftforge.fml.relauncher.Side;
 import stellarapi.StellarAPI;
 import stellarapi.api.SAPICapabilities;
+import stellarapi.api.SAPIReferences;
 import stellarapi.api.world.ICelestialWorld;
 import stellarapi.feature.perdimres.PerDimensionResourceData;
 import stellarapi.reference.CelestialPackManager;
@@ -21,6 +29,14 @@ public class StellarAPINetworkManager {
 	private SimpleNetworkWrapper wrapper;
 	protected String id = "stellarapichannel";
 
+	/** Resource data changed within the current tick. */
+	private final Set<PerDimensionResourceData> pendingResourceSync = Sets.newIdentityHashSet();
+
+	/** Pack settings last sent to each player for each dimension, on the server. */
+	private final Map<UUID, Map<Integer, NBTTagCompound>> sentPackSettings = Maps.newHashMap();
+	/** Pack settings last received for each dimension, on the client. */
+	private final Map<Integer, NBTTagCompound> knownPackSettings = Maps.newHashMap();
+
 	public StellarAPINetworkManager() {
 		this.wrapper = NetworkRegistry.INSTANCE.newSimpleChannel(this.id);
 
@@ -28,15 +44,38 @@ public class StellarAPINetworkManager {
 				MessageSyncPerDimRes.class, 0, Side.CLIENT);
 		wrapper.registerMessage(MessageSyncPackSettings.MessageSyncPackHandler.class,
 				MessageSyncPackSettings.class, 1, Side.CLIENT);
+		wrapper.registerMessage(MessagePackSettingsHash.MessagePackHashHandler.class,
+				MessagePackSettingsHash.class, 2, Side.CLIENT);
+		wrapper.registerMessage(MessageRequestPackSettings.MessageRequestPackHandler.class,
+				MessageRequestPackSettings.class, 3, Side.SERVER);
 	}
 
-	public void onSyncToAll(World world) {
-		PerDimensionResourceData data = PerDimensionResourceData.getData(world);
+	public void queueResourceSync(PerDimensionResourceData data) {
+		pendingResourceSync.add(data);
+	}
 
-		NBTTagCompound compound = new NBTTagCompound();
-		data.writeToNBT(compound);
+	@SubscribeEvent
+	public void onServerTick(TickEvent.ServerTickEvent event) {
+		if(event.phase != TickEvent.Phase.END || pendingResourceSync.isEmpty())
+			return;
+
+		// One broadcast per dimension for all the changes within the tick.
+		for(PerDimensionResourceData data : this.pendingResourceSync) {
+			World world = data.getWorld();
+			if(world != null)
+				wrapper.sendToDimension(new MessageSyncPerDimRes(data.writeChanges(), true),
+						world.provider.getDimension());
+		}
+		pendingResourceSync.clear();
+	}
 
-		wrapper.sendToDimension(new MessageSyncPerDimRes(compound), world.provider.getDimension());
+	public void onSyncPackToDimension(World world) {
+		NBTTagCompound settings = getPackSettings(world);
+		if(settings != null) {
+			int dimension = world.provider.getDimension();
+			wrapper.sendToDimension(new MessagePackSettingsHash(dimension, PackSettingsCodec.hash(settings)),
+					dimension);
+		}
 	}
 
 	public void onSync(EntityPlayerMP player, World world) {
@@ -45,14 +84,89 @@ public class StellarAPINetworkManager {
 		NBTTagCompound compound = new NBTTagCompound();
 		data.writeToNBT(compound);
 
-		wrapper.sendTo(new MessageSyncPerDimRes(compound), player);
+		wrapper.sendTo(new MessageSyncPerDimRes(compound, false), player);
+
+
+		// Only the hash is sent here, the client requests the settings on mismatch.
+		NBTTagCompound settings = getPackSettings(world);
+		if(settings != null)
+			wrapper.sendTo(new MessagePackSettingsHash(world.provider.getDimension(),
+					PackSettingsCodec.hash(settings)), player);
+	}
+
+	private static NBTTagCompound getPackSettings(World world) {
+		ICelestialWorld cWorld = world.getCapability(SAPICapabilities.CELESTIAL_CAPABILITY, null);
+		if(cWorld instanceof CelestialPackManager)
+			return ((CelestialPackManager) cWorld).getSyncSettings();
+		else return null;
+	}
+
+	// ********************************************* //
+	// ************ Pack Settings Sync ************* //
+	// ********************************************* //
 
+	void onRequestPackSettings(EntityPlayerMP player, int dimension, long knownHash) {
+		// Outdated request, the hash for the new dimension will follow.
+		if(player.world.provider.getDimension() != dimension)
+			return;
+
+		NBTTagCompound settings = getPackSettings(player.world);
+		if(settings == null)
+			return;
+
+		long hash = PackSettingsCodec.hash(settings);
+		Map<Integer, NBTTagCompound> sent = sentPackSettings.computeIfAbsent(
+				player.getUniqueID(), uuid -> Maps.newHashMap());
+		NBTTagCompound base = sent.get(dimension);
+
+		if(base != null && PackSettingsCodec.hash(base) == knownHash)
+			wrapper.sendTo(new MessageSyncPackSettings(dimension, hash, knownHash,
+					PackSettingsCodec.diff(base, settings)), player);
+		else wrapper.sendTo(new MessageSyncPackSettings(dimension, hash, settings), player);
+
+		sent.put(dimension, settings);
+	}
+
+	void onReceivePackHash(int dimension, long hash) {
+		NBTTagCompound known = knownPackSettings.get(dimension);
+		if(known != null && PackSettingsCodec.hash(known) == hash)
+			this.applyPackSettings(dimension, known);
+		else wrapper.sendToServer(new MessageRequestPackSettings(dimension,
+				known != null? PackSettingsCodec.hash(known) : 0L));
+	}
+
+	void onReceivePackDelta(int dimension, long hash, long baseHash, NBTTagCompound delta) {
+		NBTTagCompound known = knownPackSettings.get(dimension);
+		if(known != null && PackSettingsCodec.hash(known) == baseHash)
+			this.onReceivePackSettings(dimension, hash, PackSettingsCodec.patch(known, delta));
+		else this.requestFullPackSettings(dimension);
+	}
+
+	void onReceivePackSettings(int dimension, long hash, NBTTagCompound settings) {
+		if(PackSettingsCodec.hash(settings) != hash) {
+			this.requestFullPackSettings(dimension);
+			return;
+		}
+
+		knownPackSettings.put(dimension, settings);
+		this.applyPackSettings(dimension, settings);
+	}
+
+	private void requestFullPackSettings(int dimension) {
+		knownPackSettings.remove(dimension);
+		wrapper.sendToServer(new MessageRequestPackSettings(dimension, 0L));
+	}
+
+	private void applyPackSettings(int dimension, NBTTagCompound settings) {
+		World world = SAPIReferences.getDefaultWorld(true);
+		if(world == null || world.provider.getDimension() != dimension)
+			return;
 
 		ICelestialWorld cWorld = world.getCapability(SAPICapabilities.CELESTIAL_CAPABILITY, null);
 		if(cWorld instanceof CelestialPackManager) {
-			IMessage syncMessage = ((CelestialPackManager) cWorld).getSyncMessage();
-			if(syncMessage != null)
-				wrapper.sendTo(syncMessage, player);
+			CelestialPackManager manager = (CelestialPackManager) cWorld;
+			manager.readFromPacket(settings.getString("PackName"), settings);
+			manager.setupWorld();
 		}
 	}
 
@@ -73,6 +187,11 @@ public class StellarAPINetworkManager {
 		this.onSync(player, player.world);
 	}
 
+	@SubscribeEvent
+	public void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		sentPackSettings.remove(event.player.getUniqueID());
+	}
+
 	@SubscribeEvent
 	public void onPlayerJoinDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
 		this.onSync((EntityPlayerMP) event.player, event.player.world);
@@ -1,15 +1,24 @@
 package stellarapi.feature.perdimres;
 
+import java.lang.ref.WeakReference;
 import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldSavedData;
+import net.minecraftforge.common.util.Constants;
 import stellarapi.StellarAPI;
+import stellarapi.api.SAPIReferences;
 
 /**
  * Per dimension resource data.
@@ -27,29 +36,38 @@ public class PerDimensionResourceData extends WorldSavedData {
 		} else
 			result = (PerDimensionResourceData) data;
 
-		result.world = world;
+		result.world = new WeakReference<>(world);
 
 		return result;
 	}
 
 	private final Map<String, ResourceLocation> resourceMap = Maps.newHashMap();
-	private World world;
+	/** Immutable snapshot of the resource map, swapped on each mutation. */
+	private volatile ImmutableMap<String, ResourceLocation> snapshot = ImmutableMap.of();
+	/** IDs changed since the last synchronization. */
+	private final Set<String> changedIds = Sets.newHashSet();
+	/** Weak, as the data is cached by the world. */
+	private WeakReference<World> world = new WeakReference<>(null);
 
 	public PerDimensionResourceData(String id) {
 		super(id);
 	}
 
 	public ImmutableMap<String, ResourceLocation> getResourceMap() {
-		return ImmutableMap.copyOf(this.resourceMap);
+		return this.snapshot;
 	}
 
 	public void addToResourceMap(String id, ResourceLocation location) {
 		resourceMap.put(id, location);
+		this.updateSnapshot();
+		changedIds.add(id);
 		this.markDirty();
 	}
 
 	public void removeFromResourceMap(String id) {
 		resourceMap.remove(id);
+		this.updateSnapshot();
+		changedIds.add(id);
 		this.markDirty();
 	}
 
@@ -60,6 +78,7 @@ public class PerDimensionResourceData extends WorldSavedData {
 		for (String key : compound.getKeySet()) {
 			resourceMap.put(key, new ResourceLocation(compound.getString(key)));
 		}
+		this.updateSnapshot();
 	}
 
 	@Override
@@ -70,9 +89,55 @@ public class PerDimensionResourceData extends WorldSavedData {
 		return compound;
 	}
 
+	/**
+	 * Writes the changes since the last call as put/remove operations, and clears them.
+	 */
+	public NBTTagCompound writeChanges() {
+		NBTTagCompound put = new NBTTagCompound();
+		NBTTagList removed = new NBTTagList();
+		for (String id : this.changedIds) {
+			if (resourceMap.containsKey(id))
+				put.setString(id, resourceMap.get(id).toString());
+			else
+				removed.appendTag(new NBTTagString(id));
+		}
+		changedIds.clear();
+
+		NBTTagCompound compound = new NBTTagCompound();
+		compound.setTag("Put", put);
+		compound.setTag("Removed", removed);
+		return compound;
+	}
+
+	/**
+	 * Applies the put/remove operations written by {@link #writeChanges()}.
+	 */
+	public void readChanges(NBTTagCompound compound) {
+		NBTTagCompound put = compound.getCompoundTag("Put");
+		for (String key : put.getKeySet())
+			resourceMap.put(key, new ResourceLocation(put.getString(key)));
+
+		NBTTagList removed = compound.getTagList("Removed", Constants.NBT.TAG_STRING);
+		for (int i = 0; i < removed.tagCount(); i++)
+			resourceMap.remove(removed.getStringTagAt(i));
+		this.updateSnapshot();
+	}
+
+	private void updateSnapshot() {
+		this.snapshot = ImmutableMap.copyOf(this.resourceMap);
+		SAPIReferences.invalidatePerDimResources();
+	}
+
+	public @Nullable World getWorld() {
+		return world.get();
+	}
+
 	@Override
 	public void markDirty() {
-		StellarAPI.INSTANCE.getNetworkManager().onSyncToAll(this.world);
+		// Synchronized at the end of the tick, to coalesce the changes.
+		World world = this.getWorld();
+		if (world != null && !world.isRemote)
+			StellarAPI.INSTANCE.getNetworkManager().queueResourceSync(this);
 		super.markDirty();
 	}
 
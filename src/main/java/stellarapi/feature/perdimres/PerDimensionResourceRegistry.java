@@ -1,8 +1,11 @@
 package stellarapi.feature.perdimres;
 
+import java.util.Map;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import net.minecraft.util.ResourceLocation;
@@ -21,6 +24,11 @@ public class PerDimensionResourceRegistry implements IWorldResourceHandler {
 	}
 
 	private Set<String> resourceIds = Sets.newHashSet();
+	/**
+	 * Data for each loaded world, to skip storage lookup on the render path.
+	 * Replaced as a whole on world load and unload, so lookups don't lock.
+	 */
+	private volatile ImmutableMap<World, PerDimensionResourceData> loaded = ImmutableMap.of();
 
 	public PerDimensionResourceRegistry() {
 		resourceIds.add("DEBUG_ONLY");
@@ -36,12 +44,38 @@ public class PerDimensionResourceRegistry implements IWorldResourceHandler {
 
 	@Override
 	public boolean accept(World world, String resourceId, ResourceLocation previous) {
-		return PerDimensionResourceData.getData(world).getResourceMap().containsKey(resourceId);
+		return this.getData(world).getResourceMap().containsKey(resourceId);
 	}
 
 	@Override
 	public ResourceLocation getLocation(World world, String resourceId, ResourceLocation previous) {
-		return PerDimensionResourceData.getData(world).getResourceMap().get(resourceId);
+		return this.getData(world).getResourceMap().get(resourceId);
+	}
+
+	@Override
+	public ResourceLocation resolve(World world, String resourceId, ResourceLocation previous) {
+		return this.getData(world).getResourceMap().get(resourceId);
+	}
+
+	public synchronized void onWorldLoad(World world) {
+		Map<World, PerDimensionResourceData> updated = Maps.newHashMap(this.loaded);
+		updated.put(world, PerDimensionResourceData.getData(world));
+		this.loaded = ImmutableMap.copyOf(updated);
+	}
+
+	public synchronized void onWorldUnload(World world) {
+		if (!loaded.containsKey(world))
+			return;
+
+		Map<World, PerDimensionResourceData> updated = Maps.newHashMap(this.loaded);
+		updated.remove(world);
+		this.loaded = ImmutableMap.copyOf(updated);
+	}
+
+	private PerDimensionResourceData getData(World world) {
+		PerDimensionResourceData data = loaded.get(world);
+		// Not kept for the worlds which aren't loaded, so that they don't leak
+		return data != null ? data : PerDimensionResourceData.getData(world);
 	}
 
 }
@@ -19,6 +19,16 @@ public class DefaultSkyVanilla implements IAtmosphereEffect {
 		return;
 	}
 
+	@Override
+	public void applyAtmRefraction(double[] altitudes, int offset, int length) {
+		return;
+	}
+
+	@Override
+	public void disapplyAtmRefraction(double[] altitudes, int offset, int length) {
+		return;
+	}
+
 	@Override
 	public float calculateAirmass(SpCoord pos) {
 		return 0.0f;
@@ -61,7 +61,6 @@ public class AlarmWakeHandler implements IWakeHandler {
 
 		Property pWakeTime = config.get(category, "Wake_Time_from_midnight", 6000);
 		pWakeTime.setComment("Wake-up time from midnight, in tick.");
-		pWakeTime.setRequiresWorldRestart(true);
 		pWakeTime.setLanguageKey("config.property.waketime");
 	}
 
@@ -48,7 +48,6 @@ public class SunHeightWakeHandler implements IWakeHandler {
 
 		Property wakeAngle = config.get(category, "Sun_Height_for_Wake", 10.0);
 		wakeAngle.setComment("Solar azimuth(height) angle to wake up. (in degrees)");
-		wakeAngle.setRequiresWorldRestart(true);
 		wakeAngle.setLanguageKey("config.property.wakeangle");
 	}
 
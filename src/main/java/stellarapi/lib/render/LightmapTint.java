@@ -0,0 +1,103 @@
+package stellarapi.lib.render;
+
+import java.util.Arrays;
+
+/**
+ * Tints lightmap data with per-channel efficiencies.
+ * <p>
+ * Each channel goes through a 256-entry lookup table built from the
+ * efficiency. The untinted data is kept, so applying the tint is idempotent:
+ * data left as it was on the last tint is tinted again from the kept copy
+ * rather than on top of itself. Works on plain ARGB <code>int[]</code>, so it
+ * doesn't need GL context.
+ */
+public class LightmapTint {
+	private final byte[] redTable = new byte[256];
+	private final byte[] greenTable = new byte[256];
+	private final byte[] blueTable = new byte[256];
+
+	private float red = 1.0f, green = 1.0f, blue = 1.0f;
+	private boolean tableChanged = false;
+
+	private int[] untinted = new int[0];
+	private int[] lastOutput = null;
+
+	public LightmapTint() {
+		fillTable(this.redTable, 1.0f);
+		fillTable(this.greenTable, 1.0f);
+		fillTable(this.blueTable, 1.0f);
+	}
+
+	/**
+	 * Sets the efficiencies for each channel.
+	 * 
+	 * @return <code>true</code> if the efficiencies are changed
+	 */
+	public boolean setEfficiencies(float red, float green, float blue) {
+		if (red == this.red && green == this.green && blue == this.blue)
+			return false;
+
+		this.red = red;
+		this.green = green;
+		this.blue = blue;
+		fillTable(this.redTable, red);
+		fillTable(this.greenTable, green);
+		fillTable(this.blueTable, blue);
+		this.tableChanged = true;
+		return true;
+	}
+
+	public boolean isIdentity() {
+		return this.red == 1.0f && this.green == 1.0f && this.blue == 1.0f;
+	}
+
+	/**
+	 * Applies the tint on the data in place.
+	 * 
+	 * @param data
+	 *            the lightmap data in ARGB
+	 * @return <code>true</code> if the data is modified and needs upload
+	 */
+	public boolean apply(int[] data) {
+		boolean fresh = this.lastOutput == null || !Arrays.equals(data, this.lastOutput);
+		if (fresh) {
+			if (this.untinted.length != data.length)
+				this.untinted = new int[data.length];
+			System.arraycopy(data, 0, this.untinted, 0, data.length);
+		} else if (!this.tableChanged)
+			return false;
+
+		this.tableChanged = false;
+
+		if (this.isIdentity() && fresh) {
+			this.lastOutput = data.clone();
+			return false;
+		}
+
+		byte[] redTable = this.redTable, greenTable = this.greenTable, blueTable = this.blueTable;
+		int[] source = this.untinted;
+		for (int i = 0; i < data.length; i++) {
+			int pixel = source[i];
+			data[i] = 0xff000000
+					| (redTable[(pixel >> 16) & 0xff] & 0xff) << 16
+					| (greenTable[(pixel >> 8) & 0xff] & 0xff) << 8
+					| (blueTable[pixel & 0xff] & 0xff);
+		}
+
+		this.lastOutput = data.clone();
+		return true;
+	}
+
+	/**
+	 * Forgets the data from the last tint, i.e. the next data is always
+	 * treated as fresh one.
+	 */
+	public void reset() {
+		this.lastOutput = null;
+	}
+
+	private static void fillTable(byte[] table, float efficiency) {
+		for (int i = 0; i < table.length; i++)
+			table[i] = (byte) Math.max(0, Math.min(0xff, (int) (i * efficiency)));
+	}
+}
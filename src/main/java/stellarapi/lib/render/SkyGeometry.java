@@ -0,0 +1,214 @@
+package stellarapi.lib.render;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Vertex producers for the sky.
+ * <p>
+ * Each producer writes vertices on the buffer from its current position and
+ * returns the number of vertices written. The buffer should be in native
+ * byte order to be uploaded as it is. Layouts are the ones of vanilla vertex
+ * formats, i.e. <code>POSITION</code> is 3 floats,
+ * <code>POSITION_COLOR</code> is 3 floats and 4 unsigned bytes, and
+ * <code>POSITION_TEX</code> is 5 floats. Nothing here touches GL, so these
+ * can be checked on CPU.
+ */
+public final class SkyGeometry {
+
+	public static final int POSITION_SIZE = 12;
+	public static final int POSITION_COLOR_SIZE = 16;
+	public static final int POSITION_TEX_SIZE = 20;
+
+	/** Number of vertices of a sky plane, drawn as quads. */
+	public static final int PLANE_VERTICES = 13 * 13 * 4;
+	/** Number of vertices of a sunrise fan, drawn as triangle fan. */
+	public static final int FAN_VERTICES = 18;
+	/** Number of vertices of a celestial body, drawn as quad. */
+	public static final int BODY_VERTICES = 4;
+
+	/**
+	 * Maximum number of vertices of the star field with given count.
+	 */
+	public static int maxStarVertices(int count) {
+		return count * 4;
+	}
+
+	// *** Sky Planes *** //
+
+	/**
+	 * Puts the sky plane at certain height in <code>POSITION</code>.
+	 *
+	 * @param height
+	 *            the height of the plane
+	 * @param facingDown
+	 *            whether the plane faces downwards, i.e. it's the plane above
+	 */
+	public static int putSkyPlane(ByteBuffer buffer, float height, boolean facingDown) {
+		for (int x = -384; x <= 384; x += 64) {
+			float x0 = facingDown ? x + 64 : x;
+			float x1 = facingDown ? x : x + 64;
+			for (int z = -384; z <= 384; z += 64) {
+				putPos(buffer, x0, height, z);
+				putPos(buffer, x1, height, z);
+				putPos(buffer, x1, height, z + 64);
+				putPos(buffer, x0, height, z + 64);
+			}
+		}
+		return PLANE_VERTICES;
+	}
+
+	// *** Sunrise *** //
+
+	/**
+	 * Puts the sunrise fan in <code>POSITION_COLOR</code>.
+	 *
+	 * @param colors
+	 *            the sunrise colors in RGBA, as from
+	 *            {@link net.minecraft.world.WorldProvider#calcSunriseSunsetColors(float, float)
+	 *            calcSunriseSunsetColors}
+	 */
+	public static int putSunriseFan(ByteBuffer buffer, float[] colors) {
+		byte red = toByte(colors[0]), green = toByte(colors[1]), blue = toByte(colors[2]);
+
+		putPos(buffer, 0.0f, 100.0f, 0.0f);
+		putColor(buffer, red, green, blue, toByte(colors[3]));
+
+		for (int i = 0; i <= 16; i++) {
+			float angle = i * (float) Math.PI * 2.0f / 16.0f;
+			float sin = (float) Math.sin(angle);
+			float cos = (float) Math.cos(angle);
+			putPos(buffer, sin * 120.0f, cos * 120.0f, -cos * 40.0f * colors[3]);
+			putColor(buffer, red, green, blue, (byte) 0);
+		}
+		return FAN_VERTICES;
+	}
+
+	// *** Celestial Bodies *** //
+
+	/**
+	 * Puts the textured quad of a celestial body in <code>POSITION_TEX</code>.
+	 * The quad faces the origin, so the texture coordinates are given from
+	 * the view of the origin.
+	 *
+	 * @param height
+	 *            the height of the quad, negative for the bodies below
+	 * @param size
+	 *            half the width of the quad
+	 */
+	public static int putBody(ByteBuffer buffer, float height, float size,
+			float minU, float minV, float maxU, float maxV) {
+		float side = Math.signum(height) * size;
+
+		putPos(buffer, -size, height, -side);
+		putTex(buffer, minU, minV);
+		putPos(buffer, size, height, -side);
+		putTex(buffer, maxU, minV);
+		putPos(buffer, size, height, side);
+		putTex(buffer, maxU, maxV);
+		putPos(buffer, -size, height, side);
+		putTex(buffer, minU, maxV);
+		return BODY_VERTICES;
+	}
+
+	// *** Stars *** //
+
+	/**
+	 * Puts randomly distributed stars as quads in <code>POSITION</code>.
+	 * Gives the vanilla star field with seed <code>10842L</code> and count
+	 * <code>1500</code>.
+	 */
+	public static int putRandomStars(ByteBuffer buffer, long seed, int count) {
+		Random random = new Random(seed);
+		int vertices = 0;
+
+		for (int i = 0; i < count; i++) {
+			double x = random.nextFloat() * 2.0f - 1.0f;
+			double y = random.nextFloat() * 2.0f - 1.0f;
+			double z = random.nextFloat() * 2.0f - 1.0f;
+			double size = 0.15f + random.nextFloat() * 0.1f;
+			double sq = x * x + y * y + z * z;
+
+			if (sq < 1.0 && sq > 0.01) {
+				double inv = 1.0 / Math.sqrt(sq);
+				x *= inv;
+				y *= inv;
+				z *= inv;
+
+				double roll = random.nextDouble() * Math.PI * 2.0;
+				putStarQuad(buffer, x, y, z, size, roll, false, (byte) 0);
+				vertices += 4;
+			}
+		}
+		return vertices;
+	}
+
+	/**
+	 * Puts a star quad facing the origin at distance 100.
+	 *
+	 * @param x
+	 *            x of the unit direction to the star
+	 * @param y
+	 *            y of the unit direction to the star
+	 * @param z
+	 *            z of the unit direction to the star
+	 * @param size
+	 *            half the width of the quad
+	 * @param roll
+	 *            rotation of the quad around the direction, in radians
+	 * @param colored
+	 *            whether the layout is <code>POSITION_COLOR</code>
+	 * @param brightness
+	 *            the gray level of the star for colored layout
+	 */
+	static void putStarQuad(ByteBuffer buffer, double x, double y, double z,
+			double size, double roll, boolean colored, byte brightness) {
+		double azimuth = Math.atan2(x, z);
+		double sinAz = Math.sin(azimuth), cosAz = Math.cos(azimuth);
+		double polar = Math.atan2(Math.sqrt(x * x + z * z), y);
+		double sinPolar = Math.sin(polar), cosPolar = Math.cos(polar);
+		double sinRoll = Math.sin(roll), cosRoll = Math.cos(roll);
+
+		for (int j = 0; j < 4; j++) {
+			double u = ((j & 2) - 1) * size;
+			double v = ((j + 1 & 2) - 1) * size;
+			double rolledU = u * cosRoll - v * sinRoll;
+			double rolledV = v * cosRoll + u * sinRoll;
+			double up = rolledU * sinPolar;
+			double side = -rolledU * cosPolar;
+
+			putPos(buffer, (float) (x * 100.0 + side * sinAz - rolledV * cosAz),
+					(float) (y * 100.0 + up),
+					(float) (z * 100.0 + rolledV * sinAz + side * cosAz));
+			if (colored)
+				putColor(buffer, brightness, brightness, brightness, (byte) 0xff);
+		}
+	}
+
+	// *** Elements *** //
+
+	private static void putPos(ByteBuffer buffer, float x, float y, float z) {
+		buffer.putFloat(x);
+		buffer.putFloat(y);
+		buffer.putFloat(z);
+	}
+
+	private static void putColor(ByteBuffer buffer, byte red, byte green, byte blue, byte alpha) {
+		buffer.put(red);
+		buffer.put(green);
+		buffer.put(blue);
+		buffer.put(alpha);
+	}
+
+	private static void putTex(ByteBuffer buffer, float u, float v) {
+		buffer.putFloat(u);
+		buffer.putFloat(v);
+	}
+
+	private static byte toByte(float value) {
+		return (byte) Math.max(0, Math.min(0xff, (int) (value * 255.0f)));
+	}
+
+	private SkyGeometry() {
+	}
+}
@@ -0,0 +1,118 @@
+package stellarapi.lib.render;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Immutable list of stars, each with a unit direction and apparent magnitude.
+ * Stars are sorted by magnitude from the brightest one.
+ */
+public final class StarCatalog {
+	private final float[] directions;
+	private final float[] magnitudes;
+
+	private StarCatalog(float[] directions, float[] magnitudes) {
+		this.directions = directions;
+		this.magnitudes = magnitudes;
+	}
+
+	public int size() {
+		return magnitudes.length;
+	}
+
+	public float getX(int index) {
+		return directions[3 * index];
+	}
+
+	public float getY(int index) {
+		return directions[3 * index + 1];
+	}
+
+	public float getZ(int index) {
+		return directions[3 * index + 2];
+	}
+
+	public float getMagnitude(int index) {
+		return magnitudes[index];
+	}
+
+	/**
+	 * Number of stars brighter than or as bright as given magnitude.
+	 */
+	public int countUntil(float magnitude) {
+		int index = Arrays.binarySearch(this.magnitudes, magnitude);
+		if (index < 0)
+			return -index - 1;
+		while (index < magnitudes.length && magnitudes[index] <= magnitude)
+			index++;
+		return index;
+	}
+
+	/**
+	 * Random catalog on the vanilla star distribution. Numbers of stars grow
+	 * 4 times for each 1.5 magnitude up to the faintest magnitude, roughly as
+	 * the real sky.
+	 *
+	 * @param seed
+	 *            the seed
+	 * @param count
+	 *            the number of trials, some of which get rejected
+	 * @param faintest
+	 *            the faintest magnitude
+	 */
+	public static StarCatalog random(long seed, int count, float faintest) {
+		Random random = new Random(seed);
+		Builder builder = new Builder();
+
+		for (int i = 0; i < count; i++) {
+			double x = random.nextFloat() * 2.0f - 1.0f;
+			double y = random.nextFloat() * 2.0f - 1.0f;
+			double z = random.nextFloat() * 2.0f - 1.0f;
+			double sq = x * x + y * y + z * z;
+			// Keeps the number of random draws fixed per trial
+			double uniform = 1.0 - random.nextDouble();
+
+			if (sq < 1.0 && sq > 0.01) {
+				double inv = 1.0 / Math.sqrt(sq);
+				float magnitude = (float) Math.max(faintest - 6.0, faintest + Math.log10(uniform) / 0.4);
+				builder.add((float) (x * inv), (float) (y * inv), (float) (z * inv), magnitude);
+			}
+		}
+
+		return builder.build();
+	}
+
+	public static class Builder {
+		private float[] entries = new float[64];
+		private int size = 0;
+
+		public Builder add(float x, float y, float z, float magnitude) {
+			if (4 * (this.size + 1) > entries.length)
+				this.entries = Arrays.copyOf(this.entries, 2 * entries.length);
+			entries[4 * size] = magnitude;
+			entries[4 * size + 1] = x;
+			entries[4 * size + 2] = y;
+			entries[4 * size + 3] = z;
+			this.size++;
+			return this;
+		}
+
+		public StarCatalog build() {
+			Integer[] order = new Integer[this.size];
+			for (int i = 0; i < this.size; i++)
+				order[i] = i;
+			Arrays.sort(order, (a, b) -> Float.compare(entries[4 * a], entries[4 * b]));
+
+			float[] directions = new float[3 * this.size];
+			float[] magnitudes = new float[this.size];
+			for (int i = 0; i < this.size; i++) {
+				int from = 4 * order[i];
+				magnitudes[i] = entries[from];
+				directions[3 * i] = entries[from + 1];
+				directions[3 * i + 1] = entries[from + 2];
+				directions[3 * i + 2] = entries[from + 3];
+			}
+			return new StarCatalog(directions, magnitudes);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package stellarapi.lib.render;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import stellarapi.api.optics.Photometry;
+
+/**
+ * Builds star quads from a {@link StarCatalog} in <code>POSITION_COLOR</code>,
+ * see {@link SkyGeometry}. Only the stars up to the limiting magnitude are
+ * included, and the buffer is rebuilt only when the limit changes. Brightness
+ * follows {@link Photometry#brightness(float, float)}.
+ */
+public class StarFieldBuilder {
+	private final StarCatalog catalog;
+	private final ByteBuffer buffer;
+
+	private float limit = Float.NaN;
+	private boolean dirty = true;
+
+	public StarFieldBuilder(StarCatalog catalog) {
+		this.catalog = catalog;
+		this.buffer = ByteBuffer.allocateDirect(
+				SkyGeometry.maxStarVertices(catalog.size()) * SkyGeometry.POSITION_COLOR_SIZE)
+				.order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Sets the limiting magnitude.
+	 *
+	 * @return <code>true</code> if the limit is changed, i.e. the buffer needs
+	 *         to be uploaded again
+	 */
+	public boolean setLimitingMagnitude(float limit) {
+		if (limit == this.limit)
+			return false;
+
+		this.limit = limit;
+		this.dirty = true;
+		return true;
+	}
+
+	public float getLimitingMagnitude() {
+		return this.limit;
+	}
+
+	/**
+	 * Gets the buffer ready to be read from position 0 to the limit. Valid
+	 * until the next call.
+	 */
+	public ByteBuffer getBuffer() {
+		if (this.dirty) {
+			this.build();
+			this.dirty = false;
+		}
+
+		buffer.position(0);
+		return this.buffer;
+	}
+
+	public int getVertexCount() {
+		return this.getBuffer().limit() / SkyGeometry.POSITION_COLOR_SIZE;
+	}
+
+	private void build() {
+		buffer.clear();
+		if (Float.isNaN(this.limit)) {
+			buffer.flip();
+			return;
+		}
+
+		int count = catalog.countUntil(this.limit);
+		for (int i = 0; i < count; i++) {
+			float brightness = Photometry.brightness(catalog.getMagnitude(i), this.limit);
+			// Roll from the index, as the catalog doesn't have one
+			double roll = (i * 0.618034 % 1.0) * Math.PI * 2.0;
+			SkyGeometry.putStarQuad(this.buffer, catalog.getX(i), catalog.getY(i), catalog.getZ(i),
+					0.15 + 0.1 * brightness, roll, true, (byte) (brightness * 255.0f));
+		}
+		buffer.flip();
+	}
+}
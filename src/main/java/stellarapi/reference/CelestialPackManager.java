@@ -4,6 +4,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -14,10 +16,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.util.INBTSerializable;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import stellarapi.StellarAPI;
+import stellarapi.api.SAPICapabilities;
 import stellarapi.api.SAPIReferences;
 import stellarapi.api.celestials.CelestialCollection;
 import stellarapi.api.celestials.CelestialCollections;
@@ -34,7 +39,6 @@ import stellarapi.api.world.ICelestialHelper;
 import stellarapi.api.world.ICelestialWorld;
 import stellarapi.api.world.worldset.WorldSet;
 import stellarapi.api.world.worldset.WorldSets;
-import stellarapi.feature.network.MessageSyncPackSettings;
 import stellarapi.impl.celestial.DefaultCelestialPack;
 
 /**
@@ -43,14 +47,11 @@ import stellarapi.impl.celestial.DefaultCelestialPack;
 public class CelestialPackManager implements ICelestialWorld, INBTSerializable<NBTTagCompound> {
 	private World world;
 	private WorldSet worldSet;
-	private ICelestialPack pack;
-	private ICelestialScene scene;
+	/** The provider before any patch, so that reloads don't stack the replaced providers. */
+	private final WorldProvider originalProvider;
 
-	private CelestialCollections collectionManager = null;
-	private Map<IEffectorType, CelestialEffectors> effectorMap = Maps.newHashMap();
-
-	private ICCoordinates coordinate;
-	private IAtmosphereEffect skyEffect;
+	/** Loaded pack state, swapped as a whole on each (re)load. */
+	private volatile PackState state = PackState.EMPTY;
 
 	private @Nullable IAdaptiveRenderer renderer;
 
@@ -58,6 +59,7 @@ public class CelestialPackManager implements ICelestialWorld, INBTSerializable<N
 
 	CelestialPackManager(World world) {
 		this.world = world;
+		this.originalProvider = world.provider;
 
 		if(!world.isRemote) {
 			// By default, load from configuration on the server.
@@ -92,43 +94,20 @@ public class CelestialPackManager implements ICelestialWorld, INBTSerializable<N
 
 	public @Nullable RuntimeException loadPack(ICelestialPack pack, boolean isDefault) {
 		// Load pack without data. This falls back to default or loads configuration.
-		this.pack = pack;
-		this.scene = pack.getScene(this.worldSet, this.world, isDefault);
-		return this.loadPack(this.pack, this.scene);
+		return this.loadPack(pack, pack.getScene(this.worldSet, this.world, isDefault));
 	}
 
 	public @Nullable RuntimeException loadPackWithData(ICelestialPack pack, NBTTagCompound data) {
 		// Load pack with data.
-		this.pack = pack;
 		// Load with configuration settings, as it'll be overwritten anyway.
-		this.scene = pack.getScene(this.worldSet, this.world, false);
+		ICelestialScene scene = pack.getScene(this.worldSet, this.world, false);
 		scene.deserializeNBT(data);
-		return this.loadPack(this.pack, this.scene);
+		return this.loadPack(pack, scene);
 	}
 
 	private @Nullable RuntimeException loadPack(ICelestialPack pack, ICelestialScene scene) {
-		List<CelestialCollection> collections = Lists.newArrayList();
-		Map<IEffectorType, List<CelestialObject>> effectors = Maps.newHashMap();
-
 		try {
-			scene.prepare();
-			scene.onRegisterCollection(collection -> collections.add(collection),
-					(effType, object) -> effectors.computeIfAbsent(effType, type -> Lists.newArrayList())
-					.add(object));
-
-			Collections.sort(collections, collectionOrdering);
-
-			this.collectionManager = new CelestialCollections(collections);
-			this.effectorMap = effectors.entrySet().stream().collect(
-					Collectors.toMap(entry -> entry.getKey(),
-							entry -> new CelestialEffectors(entry.getValue())));
-			this.coordinate = scene.createCoordinates();
-			this.skyEffect = scene.createAtmosphereEffect();
-
-			ICelestialHelper helper = scene.createCelestialHelper();
-			if(helper != null)
-				WorldProviderReplaceHelper.patchWorldProviderWith(this.world,
-						SAPIReferences.getReplacedWorldProvider(this.world, world.provider, helper));
+			this.applyState(buildState(pack, scene));
 		} catch(RuntimeException exception) {
 			StellarAPI.INSTANCE.getLogger().error("Exception Occured while loading pack", exception);
 			return exception;
@@ -137,6 +116,82 @@ public class CelestialPackManager implements ICelestialWorld, INBTSerializable<N
 		return null;
 	}
 
+	/**
+	 * Reloads the pack from the configuration while the world is running.
+	 * The scene is built and swapped in as a whole on the main thread,
+	 * as scenes of third-party packs aren't required to be thread-safe.
+	 * Configuration should be synchronized before calling this.
+	 * @param mainThread the executor running tasks on the main thread
+	 * @return the future which completes after the new scene is applied,
+	 *  or completes with <code>null</code> when there's no pack for this world
+	 * */
+	public CompletableFuture<Void> reloadPackFromConfig(Executor mainThread) {
+		for(WorldSet wSet : WorldSets.appliedWorldSets(this.world)) {
+			ICelestialPack pack = SAPIReferences.getCelestialPack(wSet);
+			if(pack != null) {
+				return CompletableFuture.runAsync(() -> {
+					ICelestialScene scene = pack.getScene(wSet, this.world, false);
+					PackState newState = buildState(pack, scene);
+					this.worldSet = wSet;
+					this.applyState(newState);
+				}, mainThread);
+			}
+		}
+
+		return CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * Reloads packs on every world of the server from the configuration,
+	 * then synchronizes each reloaded dimension once.
+	 * Should be called on the main thread of the server.
+	 * */
+	public static void reloadAll(MinecraftServer server) {
+		for(WorldServer world : server.worlds) {
+			ICelestialWorld cWorld = world.getCapability(SAPICapabilities.CELESTIAL_CAPABILITY, null);
+			if(cWorld instanceof CelestialPackManager) {
+				((CelestialPackManager) cWorld).reloadPackFromConfig(server::addScheduledTask)
+				.thenRun(() -> StellarAPI.INSTANCE.getNetworkManager().onSyncPackToDimension(world))
+				.exceptionally(exception -> {
+					StellarAPI.INSTANCE.getLogger().error("Exception Occured while reloading pack", exception);
+					return null;
+				});
+			}
+		}
+	}
+
+	private static PackState buildState(ICelestialPack pack, ICelestialScene scene) {
+		List<CelestialCollection> collections = Lists.newArrayList();
+		Map<IEffectorType, List<CelestialObject>> effectors = Maps.newHashMap();
+
+		scene.prepare();
+		scene.onRegisterCollection(collection -> collections.add(collection),
+				(effType, object) -> effectors.computeIfAbsent(effType, type -> Lists.newArrayList())
+				.add(object));
+
+		Collections.sort(collections, collectionOrdering);
+
+		return new PackState(pack, scene,
+				new CelestialCollections(collections),
+				effectors.entrySet().stream().collect(
+						Collectors.toMap(entry -> entry.getKey(),
+								entry -> new CelestialEffectors(entry.getValue()))),
+				scene.createCoordinates(),
+				scene.createAtmosphereEffect(),
+				scene.createCelestialHelper());
+	}
+
+	private void applyState(PackState newState) {
+		// Patch from the original provider, as the current one could be the replaced one.
+		if(newState.helper != null)
+			WorldProviderReplaceHelper.patchWorldProviderWith(this.world,
+					SAPIReferences.getReplacedWorldProvider(this.world, this.originalProvider, newState.helper));
+		else if(world.provider != this.originalProvider)
+			WorldProviderReplaceHelper.patchWorldProviderWith(this.world, this.originalProvider);
+
+		this.state = newState;
+	}
+
 	private static final Ordering<CelestialCollection> collectionOrdering = Ordering
 			.from(new Comparator<CelestialCollection>() {
 				@Override
@@ -145,40 +200,47 @@ public class CelestialPackManager implements ICelestialWorld, INBTSerializable<N
 				}
 			});
 
-	public IMessage getSyncMessage() {
-		if(this.pack != null)
-			return new MessageSyncPackSettings(pack.getPackName(), this.scene);
+	/**
+	 * Gets the settings to synchronize, with the pack name on "PackName",
+	 * or <code>null</code> if there's no pack loaded.
+	 * */
+	public @Nullable NBTTagCompound getSyncSettings() {
+		if(state.pack != null)
+			return this.serializeNBT();
 		else return null;
 	}
 
 	public void setupWorld() {
 		// Sets up the world after everything is decided
-		this.renderer = scene.createSkyRenderer();
+		IAdaptiveRenderer previous = this.renderer;
+		this.renderer = state.scene.createSkyRenderer();
+		if(previous != null && previous != this.renderer)
+			previous.onRemoved(this.world);
 	}
 
 	@Override
 	public CelestialCollections getCollections() {
-		return this.collectionManager;
+		return state.collections;
 	}
 
 	@Override
 	public CelestialEffectors getCelestialEffectors(IEffectorType type) {
-		return effectorMap.get(type);
+		return state.effectorMap.get(type);
 	}
 
 	@Override
 	public ImmutableSet<IEffectorType> getEffectorTypeSet() {
-		return ImmutableSet.copyOf(effectorMap.keySet());
+		return ImmutableSet.copyOf(state.effectorMap.keySet());
 	}
 
 	@Override
 	public ICCoordinates getCoordinate() {
-		return this.coordinate;
+		return state.coordinate;
 	}
 
 	@Override
 	public IAtmosphereEffect getSkyEffect() {
-		return this.skyEffect;
+		return state.skyEffect;
 	}
 
 	public @Nullable IAdaptiveRenderer getRenderer() {
@@ -186,15 +248,16 @@ public class CelestialPackManager implements ICelestialWorld, INBTSerializable<N
 	}
 
 	public ICelestialScene getScene() {
-		return this.scene;
+		return state.scene;
 	}
 
 
 	@Override
 	public NBTTagCompound serializeNBT() {
-		if(this.scene != null) {
-			NBTTagCompound nbt = scene.serializeNBT();
-			nbt.setString("PackName", pack.getPackName());
+		PackState current = this.state;
+		if(current.scene != null) {
+			NBTTagCompound nbt = current.scene.serializeNBT();
+			nbt.setString("PackName", current.pack.getPackName());
 			return nbt;
 		}
 		else return new NBTTagCompound();
@@ -224,4 +287,34 @@ public class CelestialPackManager implements ICelestialWorld, INBTSerializable<N
 			// Load from read pack when it exists
 			this.loadPackWithData(readPack, nbt);
 	}
+
+	/**
+	 * Immutable snapshot of the loaded pack.
+	 * */
+	private static class PackState {
+		private static final PackState EMPTY = new PackState(null, null,
+				null, Collections.emptyMap(), null, null, null);
+
+		private final ICelestialPack pack;
+		private final ICelestialScene scene;
+
+		private final CelestialCollections collections;
+		private final Map<IEffectorType, CelestialEffectors> effectorMap;
+
+		private final ICCoordinates coordinate;
+		private final IAtmosphereEffect skyEffect;
+		private final @Nullable ICelestialHelper helper;
+
+		private PackState(ICelestialPack pack, ICelestialScene scene,
+				CelestialCollections collections, Map<IEffectorType, CelestialEffectors> effectorMap,
+				ICCoordinates coordinate, IAtmosphereEffect skyEffect, ICelestialHelper helper) {
+			this.pack = pack;
+			this.scene = scene;
+			this.collections = collections;
+			this.effectorMap = effectorMap;
+			this.coordinate = coordinate;
+			this.skyEffect = skyEffect;
+			this.helper = helper;
+		}
+	}
 }
@@ -0,0 +1,66 @@
+package stellarapi.api.observe;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import stellarapi.api.lib.math.SpCoord;
+import stellarapi.api.lib.math.Spmath;
+
+public class SearchRegionTest {
+
+	@BeforeClass
+	public static void setup() {
+		Spmath.Initialize();
+	}
+
+	private static SearchRegion square() {
+		return SearchRegion.quad(new SpCoord(-10.0, -10.0), new SpCoord(10.0, -10.0),
+				new SpCoord(10.0, 10.0), new SpCoord(-10.0, 10.0));
+	}
+
+	@Test
+	public void testInside() {
+		SearchRegion region = square();
+		assertTrue(region.test(new SpCoord(1.0, 0.0)));
+		assertTrue(region.test(new SpCoord(9.0, -9.0)));
+	}
+
+	@Test
+	public void testEveryTriangle() {
+		SearchRegion region = square();
+		// On the first triangle only
+		assertTrue(region.test(new SpCoord(8.0, -5.0)));
+		// On the second triangle only
+		assertTrue(region.test(new SpCoord(-8.0, 5.0)));
+	}
+
+	@Test
+	public void testSharedEdge() {
+		// On the diagonal shared by the triangles
+		SearchRegion region = square();
+		assertTrue(region.test(new SpCoord(0.0, 0.0)));
+	}
+
+	@Test
+	public void testOutside() {
+		SearchRegion region = square();
+		assertFalse(region.test(new SpCoord(20.0, 0.0)));
+		assertFalse(region.test(new SpCoord(0.0, -20.0)));
+		// Antipode, which has all the coefficients negative
+		assertFalse(region.test(new SpCoord(180.0, 0.0)));
+	}
+
+	@Test
+	public void testRepeated() {
+		// Inverses are cached on the first test
+		SearchRegion region = square();
+		for (int i = 0; i < 3; i++) {
+			assertTrue(region.test(new SpCoord(0.0, 0.0)));
+			assertFalse(region.test(new SpCoord(90.0, 0.0)));
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package stellarapi.api.optics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PhotometryTest {
+
+	@Test
+	public void testFluxAcrossRange() {
+		double maxError = 0.0;
+		// Steps not aligned to the table, so that midpoints are covered
+		for (double m = Photometry.MIN_MAGNITUDE; m <= Photometry.MAX_MAGNITUDE; m += 0.00037) {
+			float magnitude = (float) m;
+			double exact = Math.pow(10.0, -0.4 * magnitude);
+			maxError = Math.max(maxError, Math.abs(Photometry.flux(magnitude) - exact) / exact);
+		}
+		assertTrue("max relative error " + maxError, maxError < 1.1e-5);
+	}
+
+	@Test
+	public void testFluxOnMidpoints() {
+		// Linear interpolation is worst in the middle of the steps
+		for (int i = 0; i < 6000; i += 7) {
+			float magnitude = Photometry.MIN_MAGNITUDE + (i + 0.5f) / 100.0f;
+			double exact = Math.pow(10.0, -0.4 * magnitude);
+			assertEquals("magnitude " + magnitude, exact, Photometry.flux(magnitude), exact * 1.1e-5);
+		}
+	}
+
+	@Test
+	public void testFluxOutsideRange() {
+		assertEquals(Math.pow(10.0, 14.0), Photometry.flux(-35.0f), Math.pow(10.0, 14.0) * 1.0e-7);
+		assertEquals(Math.pow(10.0, -14.0), Photometry.flux(35.0f), Math.pow(10.0, -14.0) * 1.0e-7);
+	}
+
+	@Test
+	public void testMagnitudeRoundTrip() {
+		for (float magnitude = -5.0f; magnitude <= 10.0f; magnitude += 0.25f)
+			assertEquals(magnitude, Photometry.magnitude(Photometry.flux(magnitude)), 1.0e-4);
+	}
+
+}
@@ -0,0 +1,53 @@
+package stellarapi.api.render;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import stellarapi.api.celestials.CelestialCollections;
+import stellarapi.api.lib.math.SpCoord;
+import stellarapi.api.lib.math.Spmath;
+import stellarapi.api.view.IAtmosphereEffect;
+import stellarapi.api.view.ICCoordinates;
+import stellarapi.example.AtmosphereEffectPhysical;
+
+/**
+ * Times {@link CelestialRenderBatch#build} over a large collection. Run
+ * through the <code>benchmark</code> task.
+ */
+public class CelestialRenderBatchBenchmark {
+
+	private static final float[] QE = { 1.0f, 1.0f, 1.0f };
+
+	@BeforeClass
+	public static void setup() {
+		Spmath.Initialize();
+	}
+
+	@Test
+	public void benchmarkBuild() {
+		CelestialRenderBatch batch = new CelestialRenderBatch(16);
+		batch.setView(new SpCoord(40.0, 30.0), 0.0, 70.0, 16.0 / 9.0);
+
+		CelestialCollections collections = CelestialRenderBatchTest.collections(
+				CelestialRenderBatchTest.randomObjects(CelestialRenderBatchTest.OBJECT_COUNT, 2L));
+		ICCoordinates coordinate = new CelestialRenderBatchTest.Identity();
+		IAtmosphereEffect atmosphere = new AtmosphereEffectPhysical();
+
+		int count = 0;
+		for (int i = 0; i < 10; i++)
+			count = batch.build(collections, coordinate, atmosphere, 1.0f, 1.0f, QE, 0.5f, 6.0f);
+
+		int runs = 50;
+		long start = System.nanoTime();
+		for (int i = 0; i < runs; i++)
+			batch.build(collections, coordinate, atmosphere, 1.0f, 1.0f, QE, 0.5f, 6.0f);
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println(String.format("CelestialRenderBatch.build: %d objects, %d visible, %.3f ms/build",
+				CelestialRenderBatchTest.OBJECT_COUNT, count, elapsed / 1.0e6 / runs));
+		assertTrue(count > 0);
+	}
+
+}
@@ -0,0 +1,198 @@
+package stellarapi.api.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import net.minecraft.util.ResourceLocation;
+import stellarapi.api.CelestialPeriod;
+import stellarapi.api.celestials.CelestialCollection;
+import stellarapi.api.celestials.CelestialCollections;
+import stellarapi.api.celestials.CelestialObject;
+import stellarapi.api.celestials.EnumCollectionType;
+import stellarapi.api.celestials.EnumObjectType;
+import stellarapi.api.lib.math.Matrix3;
+import stellarapi.api.lib.math.SpCoord;
+import stellarapi.api.lib.math.Spmath;
+import stellarapi.api.lib.math.Vector3;
+import stellarapi.api.observe.SearchRegion;
+import stellarapi.api.view.ICCoordinates;
+import stellarapi.impl.celestial.DefaultSkyVanilla;
+
+public class CelestialRenderBatchTest {
+
+	static final int OBJECT_COUNT = 50000;
+	private static final float[] QE = { 1.0f, 1.0f, 1.0f };
+
+	@BeforeClass
+	public static void setup() {
+		Spmath.Initialize();
+	}
+
+	// *** Correctness *** //
+
+	@Test
+	public void testFrustum() {
+		CelestialRenderBatch batch = new CelestialRenderBatch(16);
+		batch.setView(new SpCoord(90.0, 30.0), 0.0, 60.0, 1.5);
+
+		TestObject ahead = new TestObject(0, new SpCoord(90.0, 30.0).getVec(), 0.0);
+		TestObject behind = new TestObject(1, new SpCoord(270.0, 30.0).getVec(), 0.0);
+		TestObject aside = new TestObject(2, new SpCoord(180.0, 30.0).getVec(), 0.0);
+		TestObject edge = new TestObject(3, new SpCoord(90.0, 58.0).getVec(), 0.0);
+
+		int count = batch.build(collections(ImmutableList.of(ahead, behind, aside, edge)), new Identity(),
+				new DefaultSkyVanilla(), 1.0f, 1.0f, QE, 0.0f, 6.0f);
+
+		assertEquals(2, count);
+		assertTrue(batch.getVisibleObjects().contains(ahead));
+		assertTrue(batch.getVisibleObjects().contains(edge));
+		assertEquals(count * 4, batch.getVertexCount());
+		assertEquals(count * 4 * CelestialRenderBatch.VERTEX_SIZE, batch.getBuffer().remaining());
+	}
+
+	@Test
+	public void testHorizon() {
+		CelestialRenderBatch batch = new CelestialRenderBatch(16);
+		batch.setView(new SpCoord(0.0, 0.0), 0.0, 60.0, 1.0);
+
+		TestObject above = new TestObject(0, new SpCoord(0.0, 10.0).getVec(), 0.0);
+		TestObject below = new TestObject(1, new SpCoord(0.0, -10.0).getVec(), 0.0);
+
+		int count = batch.build(collections(ImmutableList.of(above, below)), new Identity(),
+				new DefaultSkyVanilla(), 1.0f, 1.0f, QE, 0.0f, 6.0f);
+
+		assertEquals(1, count);
+		assertTrue(batch.getVisibleObjects().contains(above));
+	}
+
+	@Test
+	public void testAgainstBruteForce() {
+		CelestialRenderBatch batch = new CelestialRenderBatch(16);
+		SpCoord direction = new SpCoord(40.0, 30.0);
+		double fov = 60.0, aspect = 16.0 / 9.0;
+		batch.setView(direction, 0.0, fov, aspect);
+
+		List<TestObject> objects = randomObjects(OBJECT_COUNT, 1L);
+		batch.build(collections(objects), new Identity(), new DefaultSkyVanilla(),
+				1.0f, 1.0f, QE, 0.0f, 6.0f);
+		Set<CelestialObject> visible = Sets.newHashSet(batch.getVisibleObjects());
+
+		// Independent frustum, with a tolerance of 1 degree for approximated search region
+		Vector3 forward = direction.getVec();
+		Vector3 right = new Vector3().setCross(forward, new Vector3(0.0, 0.0, 1.0)).normalize();
+		Vector3 up = new Vector3().setCross(right, forward).normalize();
+		double halfHeight = Math.toRadians(fov) / 2, halfWidth = Math.atan(Math.tan(halfHeight) * aspect);
+		double tolerance = Math.toRadians(1.0);
+
+		int checked = 0;
+		for (TestObject object : objects) {
+			Vector3 pos = object.getCurrentPos();
+			double depth = pos.dot(forward);
+			double x = Math.abs(pos.dot(right)), y = Math.abs(pos.dot(up));
+
+			boolean inside = pos.getZ() > 0.0 && depth > 0.0
+					&& x < Math.tan(halfWidth - tolerance) * depth
+					&& y < Math.tan(halfHeight - tolerance) * depth;
+			boolean outside = pos.getZ() < 0.0 || depth <= 0.0
+					|| x > Math.tan(halfWidth + tolerance) * depth
+					|| y > Math.tan(halfHeight + tolerance) * depth;
+
+			if (inside) {
+				assertTrue(object.getName().toString(), visible.contains(object));
+				checked++;
+			} else if (outside)
+				assertFalse(object.getName().toString(), visible.contains(object));
+		}
+
+		assertTrue(checked > 0);
+	}
+
+	// *** Fixtures *** //
+
+	static List<TestObject> randomObjects(int count, long seed) {
+		Random random = new Random(seed);
+		List<TestObject> objects = Lists.newArrayListWithCapacity(count);
+		for (int i = 0; i < count; i++) {
+			Vector3 pos = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian())
+					.normalize();
+			objects.add(new TestObject(i, pos, random.nextDouble() * 8.0 - 1.0));
+		}
+		return objects;
+	}
+
+	static CelestialCollections collections(List<? extends CelestialObject> objects) {
+		return new CelestialCollections(ImmutableList.of(new TestCollection(objects)));
+	}
+
+	static class TestObject extends CelestialObject {
+		private TestObject(int index, Vector3 pos, double magnitude) {
+			super(new ResourceLocation("test", "object" + index), EnumObjectType.Star);
+			this.setPos(pos);
+			this.setStandardMagnitude(magnitude);
+		}
+	}
+
+	private static class TestCollection extends CelestialCollection {
+		private final List<? extends CelestialObject> objects;
+
+		private TestCollection(List<? extends CelestialObject> objects) {
+			super(new ResourceLocation("test", "collection"), EnumCollectionType.Stars, 0);
+			this.objects = objects;
+		}
+
+		@Override
+		public Set<CelestialObject> findIn(SearchRegion region, float efficiency, float multPower) {
+			Set<CelestialObject> found = Sets.newHashSet();
+			for (CelestialObject object : this.objects)
+				if (region.test(object.getCurrentPos()))
+					found.add(object);
+			return found;
+		}
+	}
+
+	/** Coordinates where the absolute coordinates are the horizontal ones. */
+	static class Identity implements ICCoordinates {
+		@Override
+		public Matrix3 getProjectionToGround() {
+			return new Matrix3().setIdentity();
+		}
+
+		@Override
+		public CelestialPeriod getPeriod() {
+			return null;
+		}
+
+		@Override
+		public double getHighestHeightAngle(Vector3 absPos) {
+			return 90.0;
+		}
+
+		@Override
+		public double getLowestHeightAngle(Vector3 absPos) {
+			return -90.0;
+		}
+
+		@Override
+		public double calculateInitialOffset(Vector3 initialAbsPos, double periodLength) {
+			return 0.0;
+		}
+
+		@Override
+		public double offsetTillObjectReach(Vector3 absPos, double heightAngle) {
+			return 0.0;
+		}
+	}
+
+}
@@ -0,0 +1,176 @@
+package stellarapi.feature.celestial.tweakable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+/**
+ * Compares reflective {@link Field} access against {@link MethodHandle}s on
+ * the per-frame swap of {@link SAPIRendererCommon}, with stand-ins for
+ * RenderGlobal and Tessellator. Run through the <code>benchmark</code> task.
+ */
+public class SkyFieldSwapBenchmark {
+
+	private static final int WARMUP = 200000;
+	private static final int RUNS = 2000000;
+
+	// *** Stand-ins *** //
+
+	private static class Global {
+		private Object skyVBO = new Object(), sky2VBO = new Object(), starVBO = new Object();
+		private int glSkyList = 1, glSkyList2 = 2, starGLCallList = 3;
+	}
+
+	private static class Tess {
+		private final Object buffer = new Object();
+	}
+
+	/** Values swapped in, as the placeholders of the renderer. */
+	private static class Swapped {
+		private Object skyVBO = new Object(), sky2VBO = new Object(), starVBO = new Object();
+		private int glSkyList = 4, glSkyList2 = 5, starGLCallList = 6;
+		private Object buffer = new Object();
+	}
+
+	private static final Field skyVBOField, sky2VBOField, starVBOField;
+	private static final Field skyListField, skyList2Field, starListField;
+	private static final Field bufferField;
+
+	private static final MethodHandle getSkyVBO, setSkyVBO, getSky2VBO, setSky2VBO, getStarVBO, setStarVBO;
+	private static final MethodHandle getSkyList, setSkyList, getSkyList2, setSkyList2, getStarList, setStarList;
+	private static final MethodHandle getBuffer, setBuffer;
+
+	static {
+		try {
+			skyVBOField = accessible(Global.class, "skyVBO");
+			sky2VBOField = accessible(Global.class, "sky2VBO");
+			starVBOField = accessible(Global.class, "starVBO");
+			skyListField = accessible(Global.class, "glSkyList");
+			skyList2Field = accessible(Global.class, "glSkyList2");
+			starListField = accessible(Global.class, "starGLCallList");
+			bufferField = accessible(Tess.class, "buffer");
+
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			getSkyVBO = lookup.unreflectGetter(skyVBOField);
+			setSkyVBO = lookup.unreflectSetter(skyVBOField);
+			getSky2VBO = lookup.unreflectGetter(sky2VBOField);
+			setSky2VBO = lookup.unreflectSetter(sky2VBOField);
+			getStarVBO = lookup.unreflectGetter(starVBOField);
+			setStarVBO = lookup.unreflectSetter(starVBOField);
+
+			getSkyList = lookup.unreflectGetter(skyListField);
+			setSkyList = lookup.unreflectSetter(skyListField);
+			getSkyList2 = lookup.unreflectGetter(skyList2Field);
+			setSkyList2 = lookup.unreflectSetter(skyList2Field);
+			getStarList = lookup.unreflectGetter(starListField);
+			setStarList = lookup.unreflectSetter(starListField);
+
+			getBuffer = lookup.unreflectGetter(bufferField);
+			setBuffer = lookup.unreflectSetter(bufferField);
+		} catch (ReflectiveOperationException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
+
+	private static Field accessible(Class<?> clazz, String name) throws NoSuchFieldException {
+		Field field = clazz.getDeclaredField(name);
+		field.setAccessible(true);
+		return field;
+	}
+
+	// *** Swaps *** //
+
+	/**
+	 * Swaps the fields with the other values, in 7 gets and 7 sets.
+	 */
+	private static void swapReflective(Global global, Tess tess, Swapped other) throws IllegalAccessException {
+		Object sky1 = skyVBOField.get(global);
+		Object sky2 = sky2VBOField.get(global);
+		Object star = starVBOField.get(global);
+		int sky1id = skyListField.getInt(global);
+		int sky2id = skyList2Field.getInt(global);
+		int starid = starListField.getInt(global);
+		Object buffer = bufferField.get(tess);
+
+		bufferField.set(tess, other.buffer);
+		skyVBOField.set(global, other.skyVBO);
+		sky2VBOField.set(global, other.sky2VBO);
+		starVBOField.set(global, other.starVBO);
+		skyListField.setInt(global, other.glSkyList);
+		skyList2Field.setInt(global, other.glSkyList2);
+		starListField.setInt(global, other.starGLCallList);
+
+		other.skyVBO = sky1;
+		other.sky2VBO = sky2;
+		other.starVBO = star;
+		other.glSkyList = sky1id;
+		other.glSkyList2 = sky2id;
+		other.starGLCallList = starid;
+		other.buffer = buffer;
+	}
+
+	private static void swapHandles(Global global, Tess tess, Swapped other) throws Throwable {
+		Object sky1 = (Object) getSkyVBO.invokeExact(global);
+		Object sky2 = (Object) getSky2VBO.invokeExact(global);
+		Object star = (Object) getStarVBO.invokeExact(global);
+		int sky1id = (int) getSkyList.invokeExact(global);
+		int sky2id = (int) getSkyList2.invokeExact(global);
+		int starid = (int) getStarList.invokeExact(global);
+		Object buffer = (Object) getBuffer.invokeExact(tess);
+
+		setBuffer.invokeExact(tess, other.buffer);
+		setSkyVBO.invokeExact(global, other.skyVBO);
+		setSky2VBO.invokeExact(global, other.sky2VBO);
+		setStarVBO.invokeExact(global, other.starVBO);
+		setSkyList.invokeExact(global, other.glSkyList);
+		setSkyList2.invokeExact(global, other.glSkyList2);
+		setStarList.invokeExact(global, other.starGLCallList);
+
+		other.skyVBO = sky1;
+		other.sky2VBO = sky2;
+		other.starVBO = star;
+		other.glSkyList = sky1id;
+		other.glSkyList2 = sky2id;
+		other.starGLCallList = starid;
+		other.buffer = buffer;
+	}
+
+	// *** Benchmark *** //
+
+	@Test
+	public void benchmarkSwap() throws Throwable {
+		Global global = new Global();
+		Tess tess = new Tess();
+		Swapped other = new Swapped();
+		Object sky = global.skyVBO, buffer = tess.buffer;
+
+		for (int i = 0; i < WARMUP; i++) {
+			swapReflective(global, tess, other);
+			swapHandles(global, tess, other);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++)
+			swapReflective(global, tess, other);
+		long reflective = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++)
+			swapHandles(global, tess, other);
+		long handles = System.nanoTime() - start;
+
+		System.out.println(String.format("Sky field swap: Field %.2f ns/swap, MethodHandle %.2f ns/swap (%.2fx)",
+				(double) reflective / RUNS, (double) handles / RUNS, (double) reflective / handles));
+
+		// Even number of swaps, so everything is back in place
+		assertSame(sky, global.skyVBO);
+		assertSame(buffer, tess.buffer);
+		assertEquals(1, global.glSkyList);
+	}
+
+}
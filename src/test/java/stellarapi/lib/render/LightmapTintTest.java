@@ -0,0 +1,123 @@
+package stellarapi.lib.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LightmapTintTest {
+
+	private static int[] lightmap() {
+		int[] data = new int[256];
+		for (int i = 0; i < data.length; i++)
+			data[i] = 0xff000000 | i << 16 | (255 - i) << 8 | (i * 7 & 0xff);
+		return data;
+	}
+
+	private static void assertArgbEquals(int[] expected, int[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++)
+			assertEquals("pixel " + i, expected[i], actual[i]);
+	}
+
+	@Test
+	public void testIdentity() {
+		LightmapTint tint = new LightmapTint();
+		assertTrue(tint.isIdentity());
+		assertFalse(tint.setEfficiencies(1.0f, 1.0f, 1.0f));
+
+		int[] data = lightmap();
+		assertFalse(tint.apply(data));
+		assertArgbEquals(lightmap(), data);
+	}
+
+	@Test
+	public void testTint() {
+		LightmapTint tint = new LightmapTint();
+		assertTrue(tint.setEfficiencies(0.5f, 1.0f, 0.0f));
+		assertFalse(tint.isIdentity());
+
+		int[] data = lightmap();
+		assertTrue(tint.apply(data));
+		for (int i = 0; i < data.length; i++) {
+			assertEquals(0xff, data[i] >>> 24);
+			assertEquals(i / 2, data[i] >> 16 & 0xff);
+			assertEquals(255 - i, data[i] >> 8 & 0xff);
+			assertEquals(0, data[i] & 0xff);
+		}
+	}
+
+	@Test
+	public void testClamping() {
+		LightmapTint tint = new LightmapTint();
+		tint.setEfficiencies(2.0f, -1.0f, 1.5f);
+
+		int[] data = lightmap();
+		tint.apply(data);
+		for (int i = 0; i < data.length; i++) {
+			assertEquals(Math.min(255, 2 * i), data[i] >> 16 & 0xff);
+			assertEquals(0, data[i] >> 8 & 0xff);
+			assertEquals(Math.min(255, (int) ((i * 7 & 0xff) * 1.5f)), data[i] & 0xff);
+		}
+	}
+
+	@Test
+	public void testIdempotent() {
+		LightmapTint tint = new LightmapTint();
+		tint.setEfficiencies(0.5f, 0.5f, 0.5f);
+
+		int[] data = lightmap();
+		assertTrue(tint.apply(data));
+		int[] tinted = data.clone();
+
+		// Data left as it was isn't tinted on top of itself
+		assertFalse(tint.apply(data));
+		assertArgbEquals(tinted, data);
+	}
+
+	@Test
+	public void testUntintedCopy() {
+		LightmapTint tint = new LightmapTint();
+		tint.setEfficiencies(0.5f, 0.25f, 0.0f);
+
+		int[] data = lightmap();
+		tint.apply(data);
+
+		// New efficiencies apply on the untinted copy, not the tinted data
+		assertTrue(tint.setEfficiencies(1.0f, 1.0f, 1.0f));
+		assertTrue(tint.apply(data));
+		assertArgbEquals(lightmap(), data);
+	}
+
+	@Test
+	public void testFreshData() {
+		LightmapTint tint = new LightmapTint();
+		tint.setEfficiencies(0.5f, 0.5f, 0.5f);
+
+		int[] data = lightmap();
+		tint.apply(data);
+
+		// Lightmap updated by vanilla is tinted again
+		int[] updated = lightmap();
+		updated[0] = 0xff808080;
+		assertTrue(tint.apply(updated));
+		assertEquals(0xff404040, updated[0]);
+	}
+
+	@Test
+	public void testReset() {
+		LightmapTint tint = new LightmapTint();
+		tint.setEfficiencies(0.5f, 0.5f, 0.5f);
+
+		int[] data = new int[] { 0xff808080 };
+		tint.apply(data);
+		assertEquals(0xff404040, data[0]);
+
+		// After reset, the tinted data is taken as the fresh one
+		tint.reset();
+		assertTrue(tint.apply(data));
+		assertEquals(0xff202020, data[0]);
+	}
+
+}
@@ -0,0 +1,119 @@
+package stellarapi.lib.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SkyGeometryTest {
+
+	private static ByteBuffer allocate(int size) {
+		// Spare room to catch writes past the reported size
+		return ByteBuffer.allocate(size + 64).order(ByteOrder.nativeOrder());
+	}
+
+	@Test
+	public void testSkyPlaneSize() {
+		for (boolean facingDown : new boolean[] { false, true }) {
+			ByteBuffer buffer = allocate(SkyGeometry.PLANE_VERTICES * SkyGeometry.POSITION_SIZE);
+			int vertices = SkyGeometry.putSkyPlane(buffer, 16.0f, facingDown);
+			assertEquals(SkyGeometry.PLANE_VERTICES, vertices);
+			assertEquals(vertices * SkyGeometry.POSITION_SIZE, buffer.position());
+		}
+	}
+
+	@Test
+	public void testSunriseFanSize() {
+		ByteBuffer buffer = allocate(SkyGeometry.FAN_VERTICES * SkyGeometry.POSITION_COLOR_SIZE);
+		int vertices = SkyGeometry.putSunriseFan(buffer, new float[] { 1.0f, 0.5f, 0.2f, 0.8f });
+		assertEquals(SkyGeometry.FAN_VERTICES, vertices);
+		assertEquals(vertices * SkyGeometry.POSITION_COLOR_SIZE, buffer.position());
+	}
+
+	@Test
+	public void testBodySize() {
+		ByteBuffer buffer = allocate(SkyGeometry.BODY_VERTICES * SkyGeometry.POSITION_TEX_SIZE);
+		int vertices = SkyGeometry.putBody(buffer, -100.0f, 20.0f, 0.25f, 0.5f, 0.0f, 0.0f);
+		assertEquals(SkyGeometry.BODY_VERTICES, vertices);
+		assertEquals(vertices * SkyGeometry.POSITION_TEX_SIZE, buffer.position());
+	}
+
+	@Test
+	public void testRandomStarsSize() {
+		ByteBuffer buffer = allocate(SkyGeometry.maxStarVertices(1500) * SkyGeometry.POSITION_SIZE);
+		int vertices = SkyGeometry.putRandomStars(buffer, 10842L, 1500);
+		assertTrue(vertices > 0 && vertices <= SkyGeometry.maxStarVertices(1500));
+		assertEquals(0, vertices % 4);
+		assertEquals(vertices * SkyGeometry.POSITION_SIZE, buffer.position());
+	}
+
+	@Test
+	public void testVanillaStars() {
+		ByteBuffer buffer = allocate(SkyGeometry.maxStarVertices(1500) * SkyGeometry.POSITION_SIZE);
+		int vertices = SkyGeometry.putRandomStars(buffer, 10842L, 1500);
+		buffer.flip();
+
+		double[] expected = vanillaStars();
+		assertEquals(expected.length / 3, vertices);
+		for (int i = 0; i < expected.length; i++)
+			assertEquals("coordinate " + i, expected[i], buffer.getFloat(), 1.0e-4);
+	}
+
+	/**
+	 * Star positions as RenderGlobal.renderStars of Minecraft 1.12.2 puts them.
+	 */
+	private static double[] vanillaStars() {
+		Random random = new Random(10842L);
+		double[] positions = new double[1500 * 4 * 3];
+		int index = 0;
+
+		for (int i = 0; i < 1500; ++i) {
+			double d0 = (double) (random.nextFloat() * 2.0F - 1.0F);
+			double d1 = (double) (random.nextFloat() * 2.0F - 1.0F);
+			double d2 = (double) (random.nextFloat() * 2.0F - 1.0F);
+			double d3 = (double) (0.15F + random.nextFloat() * 0.1F);
+			double d4 = d0 * d0 + d1 * d1 + d2 * d2;
+
+			if (d4 < 1.0D && d4 > 0.01D) {
+				d4 = 1.0D / Math.sqrt(d4);
+				d0 = d0 * d4;
+				d1 = d1 * d4;
+				d2 = d2 * d4;
+				double d5 = d0 * 100.0D;
+				double d6 = d1 * 100.0D;
+				double d7 = d2 * 100.0D;
+				double d8 = Math.atan2(d0, d2);
+				double d9 = Math.sin(d8);
+				double d10 = Math.cos(d8);
+				double d11 = Math.atan2(Math.sqrt(d0 * d0 + d2 * d2), d1);
+				double d12 = Math.sin(d11);
+				double d13 = Math.cos(d11);
+				double d14 = random.nextDouble() * Math.PI * 2.0D;
+				double d15 = Math.sin(d14);
+				double d16 = Math.cos(d14);
+
+				for (int j = 0; j < 4; ++j) {
+					double d18 = (double) ((j & 2) - 1) * d3;
+					double d19 = (double) ((j + 1 & 2) - 1) * d3;
+					double d21 = d18 * d16 - d19 * d15;
+					double d22 = d19 * d16 + d18 * d15;
+					double d23 = d21 * d12;
+					double d24 = -d21 * d13;
+					double d25 = d24 * d9 - d22 * d10;
+					double d26 = d22 * d9 + d24 * d10;
+					positions[index++] = (float) (d5 + d25);
+					positions[index++] = (float) (d6 + d23);
+					positions[index++] = (float) (d7 + d26);
+				}
+			}
+		}
+
+		return Arrays.copyOf(positions, index);
+	}
+
+}
@@ -0,0 +1,72 @@
+package stellarapi.lib.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class StarCatalogTest {
+
+	private static StarCatalog catalog(float... magnitudes) {
+		StarCatalog.Builder builder = new StarCatalog.Builder();
+		for (float magnitude : magnitudes)
+			builder.add(0.0f, 1.0f, 0.0f, magnitude);
+		return builder.build();
+	}
+
+	@Test
+	public void testSorted() {
+		StarCatalog catalog = catalog(3.0f, 1.0f, 2.0f);
+		assertEquals(3, catalog.size());
+		assertEquals(1.0f, catalog.getMagnitude(0), 0.0f);
+		assertEquals(2.0f, catalog.getMagnitude(1), 0.0f);
+		assertEquals(3.0f, catalog.getMagnitude(2), 0.0f);
+	}
+
+	@Test
+	public void testCountUntilBoundary() {
+		StarCatalog catalog = catalog(1.0f, 2.0f, 3.0f);
+		assertEquals(0, catalog.countUntil(0.5f));
+		assertEquals(1, catalog.countUntil(1.0f));
+		assertEquals(1, catalog.countUntil(1.5f));
+		assertEquals(3, catalog.countUntil(3.0f));
+		assertEquals(3, catalog.countUntil(10.0f));
+	}
+
+	@Test
+	public void testCountUntilDuplicates() {
+		StarCatalog catalog = catalog(2.0f, 1.0f, 2.0f, 3.0f, 2.0f, 2.0f);
+		assertEquals(1, catalog.countUntil(1.9f));
+		assertEquals(5, catalog.countUntil(2.0f));
+		assertEquals(5, catalog.countUntil(2.9f));
+
+		StarCatalog same = catalog(4.0f, 4.0f, 4.0f, 4.0f);
+		assertEquals(0, same.countUntil(3.9f));
+		assertEquals(4, same.countUntil(4.0f));
+	}
+
+	@Test
+	public void testEmpty() {
+		StarCatalog catalog = new StarCatalog.Builder().build();
+		assertEquals(0, catalog.size());
+		assertEquals(0, catalog.countUntil(6.0f));
+	}
+
+	@Test
+	public void testRandom() {
+		StarCatalog catalog = StarCatalog.random(10842L, 1500, 6.5f);
+		assertTrue(catalog.size() > 0 && catalog.size() <= 1500);
+		assertEquals(catalog.size(), catalog.countUntil(6.5f));
+
+		for (int i = 0; i < catalog.size(); i++) {
+			float magnitude = catalog.getMagnitude(i);
+			assertTrue(magnitude >= 0.5f && magnitude <= 6.5f);
+			if (i > 0)
+				assertTrue(magnitude >= catalog.getMagnitude(i - 1));
+
+			double x = catalog.getX(i), y = catalog.getY(i), z = catalog.getZ(i);
+			assertEquals(1.0, x * x + y * y + z * z, 1.0e-5);
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+package stellarapi.lib.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import stellarapi.api.optics.Photometry;
+
+public class StarFieldBuilderTest {
+
+	private static final float[] MAGNITUDES = { -0.5f, 1.0f, 2.0f, 2.0f, 3.5f, 5.0f };
+
+	private static StarFieldBuilder builder() {
+		StarCatalog.Builder builder = new StarCatalog.Builder();
+		for (float magnitude : MAGNITUDES)
+			builder.add(0.0f, 0.0f, 1.0f, magnitude);
+		return new StarFieldBuilder(builder.build());
+	}
+
+	@Test
+	public void testNoLimit() {
+		StarFieldBuilder field = builder();
+		assertEquals(0, field.getVertexCount());
+	}
+
+	@Test
+	public void testVertexCount() {
+		StarFieldBuilder field = builder();
+
+		assertTrue(field.setLimitingMagnitude(2.0f));
+		assertEquals(4 * 4, field.getVertexCount());
+		assertEquals(4 * 4 * SkyGeometry.POSITION_COLOR_SIZE, field.getBuffer().remaining());
+
+		assertTrue(field.setLimitingMagnitude(6.0f));
+		assertEquals(4 * MAGNITUDES.length, field.getVertexCount());
+
+		assertTrue(field.setLimitingMagnitude(-1.0f));
+		assertEquals(0, field.getVertexCount());
+	}
+
+	@Test
+	public void testUnchangedLimit() {
+		StarFieldBuilder field = builder();
+		assertTrue(field.setLimitingMagnitude(3.5f));
+		assertFalse(field.setLimitingMagnitude(3.5f));
+		assertEquals(3.5f, field.getLimitingMagnitude(), 0.0f);
+	}
+
+	@Test
+	public void testColors() {
+		StarFieldBuilder field = builder();
+		float limit = 3.5f;
+		field.setLimitingMagnitude(limit);
+		ByteBuffer buffer = field.getBuffer();
+
+		int count = field.getVertexCount() / 4;
+		assertEquals(5, count);
+		for (int i = 0; i < count; i++) {
+			int gray = (int) (Photometry.brightness(MAGNITUDES[i], limit) * 255.0f);
+			for (int j = 0; j < 4; j++) {
+				int offset = (4 * i + j) * SkyGeometry.POSITION_COLOR_SIZE + 12;
+				assertEquals(gray, buffer.get(offset) & 0xff);
+				assertEquals(gray, buffer.get(offset + 1) & 0xff);
+				assertEquals(gray, buffer.get(offset + 2) & 0xff);
+				assertEquals(0xff, buffer.get(offset + 3) & 0xff);
+			}
+		}
+
+		// Stars on the limit get the limit brightness, 2.5 magnitude brighter get full
+		int onLimit = 4 * 4 * SkyGeometry.POSITION_COLOR_SIZE + 12;
+		assertEquals((int) (Photometry.LIMIT_BRIGHTNESS * 255.0f), buffer.get(onLimit) & 0xff);
+		assertEquals(0xff, buffer.get(12) & 0xff);
+	}
+
+}